@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import org.zalando.problem.ThrowableProblem;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -24,7 +23,7 @@ interface ExceptionalMixin {
 
     // decision about inclusion is up to derived mixins
     @JsonProperty("stacktrace")
-    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    @JsonSerialize(contentConverter = StackTraceElementConverter.class)
     StackTraceElement[] getStackTrace();
 
     @JsonIgnore
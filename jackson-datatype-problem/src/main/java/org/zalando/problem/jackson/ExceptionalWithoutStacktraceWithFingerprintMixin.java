@@ -0,0 +1,8 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(value = "fingerprint", allowGetters = true, ignoreUnknown = true)
+interface ExceptionalWithoutStacktraceWithFingerprintMixin extends ExceptionalWithoutStacktraceMixin, FingerprintMixin {
+
+}
@@ -0,0 +1,13 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.zalando.problem.Fingerprints;
+
+final class FingerprintConverter extends StdConverter<Long, String> {
+
+    @Override
+    public String convert(final Long value) {
+        return Fingerprints.toString(value);
+    }
+
+}
@@ -0,0 +1,12 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+interface FingerprintMixin {
+
+    @JsonProperty("fingerprint")
+    @JsonSerialize(converter = FingerprintConverter.class)
+    long fingerprint();
+
+}
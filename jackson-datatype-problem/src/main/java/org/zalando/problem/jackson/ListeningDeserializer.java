@@ -0,0 +1,62 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import org.zalando.problem.Problem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+
+/**
+ * Notifies a {@link ProblemListener} after the actual deserializer of a problem is done. Polymorphic deserialization
+ * ends up in {@link #deserialize(JsonParser, DeserializationContext)} of the concrete type's deserializer, which is
+ * why only concrete types get wrapped.
+ */
+final class ListeningDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ProblemListener listener;
+
+    ListeningDeserializer(final JsonDeserializer<?> delegate, final ProblemListener listener) {
+        super(delegate);
+        this.listener = listener;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(final JsonDeserializer<?> delegate) {
+        return new ListeningDeserializer(delegate, listener);
+    }
+
+    @Override
+    public Object deserialize(final JsonParser json, final DeserializationContext context) throws IOException {
+        final Object value = super.deserialize(json, context);
+        listener.onDeserialize((Problem) value);
+        return value;
+    }
+
+    static final class Modifier extends BeanDeserializerModifier {
+
+        private final ProblemListener listener;
+
+        Modifier(final ProblemListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config,
+                final BeanDescription description, final JsonDeserializer<?> deserializer) {
+            final Class<?> type = description.getBeanClass();
+            return Problem.class.isAssignableFrom(type) && !description.getType().isAbstract() ?
+                    new ListeningDeserializer(deserializer, listener) :
+                    deserializer;
+        }
+
+    }
+
+}
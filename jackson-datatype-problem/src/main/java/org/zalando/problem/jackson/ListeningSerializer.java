@@ -0,0 +1,83 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import org.zalando.problem.Problem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+
+/**
+ * Notifies a {@link ProblemListener} before delegating to the actual serializer of a problem.
+ */
+final class ListeningSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+    private final ProblemListener listener;
+
+    @SuppressWarnings("unchecked")
+    ListeningSerializer(final JsonSerializer<?> delegate, final ProblemListener listener) {
+        this.delegate = (JsonSerializer<Object>) delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public void serialize(final Object value, final JsonGenerator json, final SerializerProvider serializers)
+            throws IOException {
+        listener.onSerialize((Problem) value);
+        delegate.serialize(value, json, serializers);
+    }
+
+    @Override
+    public void serializeWithType(final Object value, final JsonGenerator json,
+            final SerializerProvider serializers, final TypeSerializer typeSerializer) throws IOException {
+        listener.onSerialize((Problem) value);
+        delegate.serializeWithType(value, json, serializers, typeSerializer);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider serializers, final BeanProperty property)
+            throws JsonMappingException {
+        return new ListeningSerializer(serializers.handleSecondaryContextualization(delegate, property), listener);
+    }
+
+    @Override
+    public void resolve(final SerializerProvider serializers) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer) {
+            ((ResolvableSerializer) delegate).resolve(serializers);
+        }
+    }
+
+    @Override
+    public Class<Object> handledType() {
+        return delegate.handledType();
+    }
+
+    static final class Modifier extends BeanSerializerModifier {
+
+        private final ProblemListener listener;
+
+        Modifier(final ProblemListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public JsonSerializer<?> modifySerializer(final SerializationConfig config,
+                final BeanDescription description, final JsonSerializer<?> serializer) {
+            return Problem.class.isAssignableFrom(description.getBeanClass()) ?
+                    new ListeningSerializer(serializer, listener) :
+                    serializer;
+        }
+
+    }
+
+}
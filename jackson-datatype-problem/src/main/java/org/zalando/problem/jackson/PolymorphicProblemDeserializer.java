@@ -0,0 +1,255 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.DefaultProblem;
+import org.zalando.problem.Problem;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dispatches abstract problem types, e.g. {@link Problem} or {@link org.zalando.problem.ThrowableProblem}, on the
+ * {@code "type"} member, using a {@link TypeIds table} of all registered subtypes that is built once. Type ids are
+ * matched exactly, without reading them as strings, and problems of unknown types are deserialized into the
+ * {@link ProblemMixIn default implementation}. Without registered subtypes the members go straight to the default
+ * implementation's deserializer, without being buffered until the type id is found. Documents that start with the
+ * type only need the type itself to be buffered.
+ *
+ * @see ProblemModule#registerSubtype(java.net.URI, Class)
+ */
+final class PolymorphicProblemDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String TYPE = "type";
+
+    // assigned during resolution and contextualization, respectively
+    private Map<String, JavaType> subtypes = Collections.emptyMap();
+    private TypeIds<JsonDeserializer<Object>> deserializers = new TypeIds<>(Collections.emptyMap());
+    private JsonDeserializer<Object> defaults;
+
+    PolymorphicProblemDeserializer(final JsonDeserializer<?> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(final JsonDeserializer<?> delegate) {
+        final PolymorphicProblemDeserializer deserializer = new PolymorphicProblemDeserializer(delegate);
+        deserializer.subtypes = subtypes;
+        return deserializer;
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        super.resolve(context);
+
+        final DeserializationConfig config = context.getConfig();
+        final Map<String, JavaType> subtypes = new HashMap<>();
+
+        // abstract types, including the handled type itself, are never part of the resolved subtypes
+        for (final NamedType subtype : config.getSubtypeResolver().collectAndResolveSubtypesByTypeId(config,
+                config.introspectClassAnnotations(handledType()).getClassInfo())) {
+
+            if (subtype.getType() != DefaultProblem.class) {
+                subtypes.put(subtype.hasName() ? subtype.getName() : defaultTypeId(subtype.getType()),
+                        context.constructType(subtype.getType()));
+            }
+        }
+
+        this.subtypes = subtypes;
+    }
+
+    /**
+     * Same as Jackson's type name resolver for subtypes without a name, i.e. the class name without the package.
+     */
+    private static String defaultTypeId(final Class<?> type) {
+        final String name = type.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(final DeserializationContext context,
+            @Nullable final BeanProperty property) throws JsonMappingException {
+
+        final PolymorphicProblemDeserializer deserializer = (PolymorphicProblemDeserializer) newDelegatingInstance(
+                context.handleSecondaryContextualization(_delegatee, property, context.constructType(handledType())));
+
+        // property-level annotations, e.g. ignorals, apply to default problems and subtypes as well
+        deserializer.defaults = context.findContextualValueDeserializer(
+                context.constructType(DefaultProblem.class), property);
+
+        final Map<String, JsonDeserializer<Object>> deserializers = new HashMap<>();
+        for (final Map.Entry<String, JavaType> subtype : subtypes.entrySet()) {
+            deserializers.put(subtype.getKey(), context.findContextualValueDeserializer(subtype.getValue(), property));
+        }
+        deserializer.deserializers = new TypeIds<>(deserializers);
+
+        return deserializer;
+    }
+
+    @Override
+    public Object deserializeWithType(final JsonParser json, final DeserializationContext context,
+            final TypeDeserializer typeDeserializer) throws IOException {
+
+        if (deserializers.isEmpty()) {
+            return defaults.deserialize(json, context);
+        }
+
+        JsonToken token = json.currentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = json.nextToken();
+        }
+
+        // members before the type are replayed, as is the type itself, since it's a visible type id
+        @Nullable TokenBuffer buffer = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = json.nextToken()) {
+            final String name = json.currentName();
+            final JsonToken value = json.nextToken();
+
+            if (value == JsonToken.VALUE_STRING && TYPE.equals(name)) {
+                final int index = deserializers.indexOf(
+                        json.getTextCharacters(), json.getTextOffset(), json.getTextLength());
+                final JsonDeserializer<Object> deserializer = index < 0 ? defaults : deserializers.value(index);
+
+                buffer = buffer == null ? context.bufferForInputBuffering(json) : buffer;
+                buffer.writeFieldName(name);
+                // matched ids are shared, i.e. only unknown types need to be read as strings
+                buffer.writeString(index < 0 ? json.getText() : deserializers.id(index));
+
+                final JsonParser parser = JsonParserSequence.createFlattened(false, buffer.asParser(json), json);
+                parser.nextToken();
+                return deserializer.deserialize(parser, context);
+            }
+
+            buffer = buffer == null ? context.bufferForInputBuffering(json) : buffer;
+            buffer.writeFieldName(name);
+            buffer.copyCurrentStructure(json);
+        }
+
+        if (buffer == null) {
+            // empty objects and anything but objects are up to the default implementation
+            return defaults.deserialize(json, context);
+        }
+
+        buffer.writeEndObject();
+        final JsonParser parser = buffer.asParser(json);
+        parser.nextToken();
+        return defaults.deserialize(parser, context);
+    }
+
+    static boolean supports(final BeanDescription description) {
+        final Class<?> type = description.getBeanClass();
+        return description.getType().isAbstract() &&
+                Problem.class.isAssignableFrom(type) &&
+                type.isAssignableFrom(DefaultProblem.class);
+    }
+
+    /**
+     * An open addressing table of type ids, which are matched against the characters of the current text of a parser,
+     * i.e. without creating a string per lookup. It's at most half full, so that probing always ends at a free slot.
+     *
+     * @param <V> the value type
+     */
+    static final class TypeIds<V> {
+
+        private final String[] ids;
+        private final Object[] values;
+        private final int size;
+
+        TypeIds(final Map<String, V> entries) {
+            int capacity = 2;
+            while (capacity < entries.size() * 2) {
+                capacity <<= 1;
+            }
+
+            this.ids = new String[capacity];
+            this.values = new Object[capacity];
+            this.size = entries.size();
+
+            entries.forEach((id, value) -> {
+                int slot = slot(id.hashCode());
+                while (ids[slot] != null) {
+                    slot = next(slot);
+                }
+                ids[slot] = id;
+                values[slot] = value;
+            });
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @return the index of the given type id, or a negative number if it's unknown
+         */
+        int indexOf(final char[] chars, final int offset, final int length) {
+            // the same as String#hashCode
+            int hash = 0;
+            for (int index = offset; index < offset + length; index++) {
+                hash = 31 * hash + chars[index];
+            }
+
+            for (int slot = slot(hash); ; slot = next(slot)) {
+                @Nullable final String id = ids[slot];
+
+                if (id == null) {
+                    return -1;
+                } else if (matches(id, chars, offset, length)) {
+                    return slot;
+                }
+            }
+        }
+
+        String id(final int index) {
+            return ids[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(final int index) {
+            return (V) values[index];
+        }
+
+        private int slot(final int hash) {
+            return (hash ^ hash >>> 16) & (ids.length - 1);
+        }
+
+        private int next(final int slot) {
+            return (slot + 1) & (ids.length - 1);
+        }
+
+        private static boolean matches(final String id, final char[] chars, final int offset, final int length) {
+            if (id.length() != length) {
+                return false;
+            }
+
+            for (int index = 0; index < length; index++) {
+                if (id.charAt(index) != chars[offset + index]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+}
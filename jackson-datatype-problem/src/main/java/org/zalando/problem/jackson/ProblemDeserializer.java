@@ -0,0 +1,271 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.DefaultProblem;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses a {@link DefaultProblem} straight into a {@link ProblemBuilder}, in one pass. The bean deserializer, driven by
+ * {@link AbstractThrowableProblemMixIn}, would buffer all members until the creator can be called and then apply the
+ * {@link com.fasterxml.jackson.annotation.JsonAnySetter any setter} once per parameter. Members are interpreted like
+ * the bean deserializer does, i.e. using the same property deserializers, setters and ignorals, except that
+ * parameters keep the order of the document and, for duplicate members, the last one wins. Parameters with a
+ * {@link ProblemModule#registerParameter(String, java.lang.reflect.Type) registered type} are deserialized into that
+ * type right away, all others the same way as by the any setter.
+ *
+ * @see PolymorphicProblemDeserializer
+ */
+final class ProblemDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    static final Set<String> CREATOR = new HashSet<>(Arrays.asList(
+            "type", "title", "status", "detail", "instance", "cause"));
+
+    /**
+     * The members that Jackson's ThrowableDeserializer ignores on top of the configured ones.
+     */
+    private static final List<String> THROWABLE_IGNORALS = Arrays.asList("localizedMessage", "suppressed");
+
+    private final Set<String> ignorals;
+    private final Map<String, Type> types;
+
+    private final Map<String, SettableBeanProperty> creator = new HashMap<>();
+    private final Map<String, SettableBeanProperty> setters = new HashMap<>();
+    private final Map<String, JsonDeserializer<Object>> typed = new HashMap<>();
+
+    // both assigned during resolution
+    private JsonDeserializer<Object> parameters;
+    private JsonDeserializer<Object> self;
+
+    private ProblemDeserializer(final JsonDeserializer<?> delegate, final Set<String> ignorals,
+            final Map<String, Type> types) {
+        super(delegate);
+        this.ignorals = ignorals;
+        this.types = types;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(final JsonDeserializer<?> delegate) {
+        // a contextual bean deserializer, e.g. one with property-level ignorals, is used as is
+        return delegate;
+    }
+
+    @Override
+    public void resolve(final DeserializationContext context) throws JsonMappingException {
+        super.resolve(context);
+
+        final BeanDeserializerBase delegate = (BeanDeserializerBase) _delegatee;
+
+        for (final SettableBeanProperty property :
+                delegate.getValueInstantiator().getFromObjectArguments(context.getConfig())) {
+            // same as the bean deserializer's property-based creator
+            creator.put(property.getName(), property.hasValueDeserializer() ? property :
+                    property.withValueDeserializer(
+                            context.findContextualValueDeserializer(property.getType(), property)));
+        }
+
+        final Iterator<SettableBeanProperty> properties = delegate.properties();
+
+        while (properties.hasNext()) {
+            final SettableBeanProperty property = properties.next();
+
+            if (!creator.containsKey(property.getName())) {
+                setters.put(property.getName(), property);
+            }
+        }
+
+        this.parameters = context.findRootValueDeserializer(context.constructType(Object.class));
+
+        for (final Map.Entry<String, Type> type : types.entrySet()) {
+            typed.put(type.getKey(), context.findRootValueDeserializer(context.constructType(type.getValue())));
+        }
+        // the outermost deserializer of default problems, i.e. including the listener, if any
+        this.self = context.findContextualValueDeserializer(context.constructType(DefaultProblem.class), null);
+    }
+
+    @Override
+    public Object deserialize(final JsonParser json, final DeserializationContext context) throws IOException {
+        JsonToken token = json.currentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = json.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            // let the bean deserializer coerce or report it
+            return super.deserialize(json, context);
+        }
+
+        final ProblemBuilder builder = Problem.builder();
+        @Nullable List<Object> deferred = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = json.nextToken()) {
+            final String name = json.currentName();
+            json.nextToken();
+
+            @Nullable final SettableBeanProperty property = creator.get(name);
+
+            try {
+                if (property != null) {
+                    set(builder, name, property.deserialize(json, context));
+                } else if (setters.containsKey(name)) {
+                    // setters, e.g. of the stack trace, need the problem, which only exists after all members are read
+                    final SettableBeanProperty setter = setters.get(name);
+                    deferred = deferred == null ? new ArrayList<>() : deferred;
+                    deferred.add(setter);
+                    deferred.add(setter.deserialize(json, context));
+                } else if (ignorals.contains(name)) {
+                    json.skipChildren();
+                } else {
+                    builder.with(name, parameter(json, context, name));
+                }
+            } catch (final JsonProcessingException e) {
+                // same as the bean deserializer, i.e. adds the path to the member, unless disabled
+                throw context.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS) ?
+                        JsonMappingException.wrapWithPath(e, handledType(), name) : e;
+            }
+        }
+
+        final ThrowableProblem problem = builder.build();
+
+        if (deferred != null) {
+            for (int index = 0; index < deferred.size(); index += 2) {
+                ((SettableBeanProperty) deferred.get(index)).set(problem, deferred.get(index + 1));
+            }
+        }
+
+        return problem;
+    }
+
+    /**
+     * Default problems don't have subtypes, i.e. the type id is just another member. Skipping the type deserializer
+     * avoids buffering members that precede the type.
+     */
+    @Override
+    public Object deserializeWithType(final JsonParser json, final DeserializationContext context,
+            final TypeDeserializer typeDeserializer) throws IOException {
+        return self.deserialize(json, context);
+    }
+
+    @Nullable
+    private Object parameter(final JsonParser json, final DeserializationContext context, final String name)
+            throws IOException {
+
+        @Nullable final JsonDeserializer<Object> deserializer = typed.get(name);
+
+        if (deserializer == null) {
+            return parameters.deserialize(json, context);
+        }
+
+        // same as a property, i.e. typed deserializers don't expect nulls
+        return json.currentToken() == JsonToken.VALUE_NULL ?
+                deserializer.getNullValue(context) :
+                deserializer.deserialize(json, context);
+    }
+
+    private static void set(final ProblemBuilder builder, final String name, @Nullable final Object value) {
+        switch (name) {
+            case "type":
+                builder.withType((URI) value);
+                break;
+            case "title":
+                builder.withTitle((String) value);
+                break;
+            case "status":
+                builder.withStatus((StatusType) value);
+                break;
+            case "detail":
+                builder.withDetail((String) value);
+                break;
+            case "instance":
+                builder.withInstance((URI) value);
+                break;
+            default:
+                builder.withCause((ThrowableProblem) value);
+                break;
+        }
+    }
+
+    static final class Modifier extends BeanDeserializerModifier {
+
+        private final Map<String, Type> parameters;
+
+        Modifier() {
+            this(Collections.emptyMap());
+        }
+
+        Modifier(final Map<String, Type> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config,
+                final BeanDescription description, final JsonDeserializer<?> deserializer) {
+
+            final Class<?> type = description.getBeanClass();
+
+            if (type == DefaultProblem.class) {
+                return isStandard(config, description, deserializer) ?
+                        new ProblemDeserializer(deserializer, ignorals(config, description), parameters) :
+                        deserializer;
+            }
+
+            return PolymorphicProblemDeserializer.supports(description) ?
+                    new PolymorphicProblemDeserializer(deserializer) :
+                    deserializer;
+        }
+
+        private static boolean isStandard(final DeserializationConfig config, final BeanDescription description,
+                final JsonDeserializer<?> deserializer) {
+
+            if (!(deserializer instanceof BeanDeserializerBase) || description.findAnySetterAccessor() == null) {
+                return false;
+            }
+
+            final Set<String> names = new HashSet<>();
+            for (final SettableBeanProperty property : ((BeanDeserializerBase) deserializer)
+                    .getValueInstantiator().getFromObjectArguments(config)) {
+                names.add(property.getName());
+            }
+            return names.equals(CREATOR);
+        }
+
+        private static Set<String> ignorals(final DeserializationConfig config, final BeanDescription description) {
+            final Set<String> ignorals = new HashSet<>(THROWABLE_IGNORALS);
+            ignorals.addAll(config.getDefaultPropertyIgnorals(description.getBeanClass(),
+                    description.getClassInfo()).findIgnoredForDeserialization());
+            return Collections.unmodifiableSet(ignorals);
+        }
+
+    }
+
+}
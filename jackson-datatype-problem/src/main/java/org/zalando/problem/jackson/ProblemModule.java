@@ -3,25 +3,37 @@ package org.zalando.problem.jackson;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.core.util.VersionUtil;
 import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.apiguardian.api.API;
 import org.zalando.problem.DefaultProblem;
 import org.zalando.problem.Exceptional;
 import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
+import org.zalando.problem.StatusRegistry;
 import org.zalando.problem.StatusType;
+import org.zalando.problem.spi.ProblemListener;
+import org.zalando.problem.spi.ProblemListeners;
 
+import java.lang.reflect.Type;
+import java.net.URI;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 @API(status = STABLE)
 public final class ProblemModule extends Module {
 
     private final boolean stackTraces;
-    private final Map<Integer, StatusType> statuses;
+    private final boolean fingerprints;
+    private final StatusRegistry statuses;
+    private final Map<URI, Class<? extends Problem>> subtypes;
+    private final Map<String, Type> parameters;
+    private final ProblemListener listener;
 
     /**
      * TODO document
@@ -43,12 +55,19 @@ public final class ProblemModule extends Module {
     public <E extends Enum<?> & StatusType> ProblemModule(final Class<? extends E>... types)
             throws IllegalArgumentException {
 
-        this(false, buildIndex(types));
+        this(false, false, StatusRegistry.of(types), Collections.emptyMap(), Collections.emptyMap(),
+                ProblemListeners.current());
     }
 
-    private ProblemModule(final boolean stackTraces, final Map<Integer, StatusType> statuses) {
+    private ProblemModule(final boolean stackTraces, final boolean fingerprints, final StatusRegistry statuses,
+            final Map<URI, Class<? extends Problem>> subtypes, final Map<String, Type> parameters,
+            final ProblemListener listener) {
         this.stackTraces = stackTraces;
+        this.fingerprints = fingerprints;
         this.statuses = statuses;
+        this.subtypes = subtypes;
+        this.parameters = parameters;
+        this.listener = listener;
     }
 
 
@@ -68,9 +87,7 @@ public final class ProblemModule extends Module {
     public void setupModule(final SetupContext context) {
         final SimpleModule module = new SimpleModule();
 
-        module.setMixInAnnotation(Exceptional.class, stackTraces ?
-                ExceptionalMixin.class :
-                ExceptionalWithoutStacktraceMixin.class);
+        module.setMixInAnnotation(Exceptional.class, exceptionalMixin());
 
         module.setMixInAnnotation(DefaultProblem.class, AbstractThrowableProblemMixIn.class);
         module.setMixInAnnotation(Problem.class, ProblemMixIn.class);
@@ -78,24 +95,31 @@ public final class ProblemModule extends Module {
         module.addSerializer(StatusType.class, new StatusTypeSerializer());
         module.addDeserializer(StatusType.class, new StatusTypeDeserializer(statuses));
 
+        if (listener != ProblemListener.DEFAULT) {
+            module.setSerializerModifier(new ListeningSerializer.Modifier(listener));
+            module.setDeserializerModifier(new ListeningDeserializer.Modifier(listener));
+        }
+
         module.setupModule(context);
+
+        subtypes.forEach((type, subtype) ->
+                context.registerSubtypes(new NamedType(subtype, type.toString())));
+
+        // modifiers registered later run first, i.e. the listener, if any, wraps the streaming (de)serializers
+        context.addBeanSerializerModifier(new ProblemSerializer.Modifier());
+        context.addBeanDeserializerModifier(new ProblemDeserializer.Modifier(parameters));
     }
 
-    @SafeVarargs
-    private static <E extends Enum<?> & StatusType> Map<Integer, StatusType> buildIndex(
-            final Class<? extends E>... types) {
-        final Map<Integer, StatusType> index = new HashMap<>();
-
-        for (final Class<? extends E> type : types) {
-            for (final E status : type.getEnumConstants()) {
-                if (index.containsKey(status.getStatusCode())) {
-                    throw new IllegalArgumentException("Duplicate status codes are not allowed");
-                }
-                index.put(status.getStatusCode(), status);
-            }
+    private Class<?> exceptionalMixin() {
+        if (fingerprints) {
+            return stackTraces ?
+                    ExceptionalWithFingerprintMixin.class :
+                    ExceptionalWithoutStacktraceWithFingerprintMixin.class;
         }
 
-        return Collections.unmodifiableMap(index);
+        return stackTraces ?
+                ExceptionalMixin.class :
+                ExceptionalWithoutStacktraceMixin.class;
     }
 
     public ProblemModule withStackTraces() {
@@ -103,7 +127,86 @@ public final class ProblemModule extends Module {
     }
 
     public ProblemModule withStackTraces(final boolean stackTraces) {
-        return new ProblemModule(stackTraces, statuses);
+        return new ProblemModule(stackTraces, fingerprints, statuses, subtypes, parameters, listener);
+    }
+
+    /**
+     * Emits the {@link Exceptional#fingerprint() fingerprint} of exceptional problems as a {@code "fingerprint"}
+     * member, rendered as {@link org.zalando.problem.Fingerprints#toString(long) hex string}. It's ignored when
+     * reading, since it's derived from the problem itself.
+     *
+     * @return a copy of this module that emits fingerprints
+     */
+    @API(status = EXPERIMENTAL)
+    public ProblemModule withFingerprints() {
+        return withFingerprints(true);
+    }
+
+    @API(status = EXPERIMENTAL)
+    public ProblemModule withFingerprints(final boolean fingerprints) {
+        return new ProblemModule(stackTraces, fingerprints, statuses, subtypes, parameters, listener);
+    }
+
+    /**
+     * Registers a subtype to deserialize problems of the given {@link Problem#getType() type} into, as an alternative
+     * to {@link com.fasterxml.jackson.databind.ObjectMapper#registerSubtypes(Class[]) registering} subtypes annotated
+     * with {@link com.fasterxml.jackson.annotation.JsonTypeName}. Types are matched exactly, i.e. character by
+     * character, and problems of unknown types are deserialized into {@link DefaultProblem default problems}.
+     *
+     * @param type the problem type
+     * @param subtype the class to deserialize problems of the given type into
+     * @return a copy of this module that deserializes problems of the given type into the given subtype
+     * @throws IllegalArgumentException if there is a subtype registered for the given type already
+     */
+    @API(status = EXPERIMENTAL)
+    public ProblemModule registerSubtype(final URI type, final Class<? extends Problem> subtype)
+            throws IllegalArgumentException {
+
+        requireNonNull(type, "Type");
+        requireNonNull(subtype, "Subtype");
+
+        if (subtypes.containsKey(type)) {
+            throw new IllegalArgumentException("Subtype for " + type + " is already registered");
+        }
+
+        final Map<URI, Class<? extends Problem>> map = new LinkedHashMap<>(subtypes);
+        map.put(type, subtype);
+        return new ProblemModule(stackTraces, fingerprints, statuses, map, parameters, listener);
+    }
+
+    /**
+     * Registers the type of a parameter, i.e. an extension member, of {@link DefaultProblem default problems}.
+     * Registered parameters are deserialized straight into the given type, e.g. a {@link java.math.BigDecimal} or a
+     * {@link java.util.List} of {@link com.fasterxml.jackson.core.type.TypeReference#getType() typed} elements,
+     * rather than into whatever represents arbitrary JSON. Parameters that are not registered are deserialized as
+     * before.
+     *
+     * @param name the name of the parameter
+     * @param type the type to deserialize the parameter into
+     * @return a copy of this module that deserializes the given parameter into the given type
+     * @throws IllegalArgumentException if the name is one of the standard members or if there is a type registered
+     *                                  for the given name already
+     */
+    @API(status = EXPERIMENTAL)
+    public ProblemModule registerParameter(final String name, final Type type) throws IllegalArgumentException {
+        requireNonNull(name, "Name");
+        requireNonNull(type, "Type");
+
+        if (ProblemDeserializer.CREATOR.contains(name)) {
+            throw new IllegalArgumentException(name + " is not a parameter");
+        }
+
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter " + name + " is already registered");
+        }
+
+        final Map<String, Type> map = new LinkedHashMap<>(parameters);
+        map.put(name, type);
+        return new ProblemModule(stackTraces, fingerprints, statuses, subtypes, map, listener);
+    }
+
+    ProblemModule withListener(final ProblemListener listener) {
+        return new ProblemModule(stackTraces, fingerprints, statuses, subtypes, parameters, listener);
     }
 
 }
@@ -0,0 +1,325 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.MapSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Exceptional;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StackTraceStrings;
+import org.zalando.problem.StatusType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes problems directly to the {@link JsonGenerator}, in one pass and without evaluating inclusion rules property by
+ * property. The output is exactly what the {@link BeanSerializerBase bean serializer}, driven by {@link ProblemMixIn}
+ * and {@link ExceptionalMixin}, would produce, including its property order. Problems with properties that this
+ * serializer doesn't know, e.g. additional getters of a subclass, keep using the bean serializer, as does
+ * serialization with an active view.
+ */
+final class ProblemSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    private final List<Member> members;
+    private final JavaType parametersType;
+    private final BeanSerializerBase fallback;
+
+    private MapSerializer parameters;
+
+    private ProblemSerializer(final List<Member> members, final JavaType parametersType,
+            final BeanSerializerBase fallback, final boolean staticTyping) {
+        this.members = members;
+        this.parametersType = parametersType;
+        this.fallback = fallback;
+        this.parameters = parameters(parametersType, staticTyping, null);
+    }
+
+    @Override
+    public void serialize(final Object value, final JsonGenerator json, final SerializerProvider serializers)
+            throws IOException {
+
+        if (serializers.getActiveView() == null) {
+            json.writeStartObject(value);
+            serializeMembers((Problem) value, json, serializers);
+            json.writeEndObject();
+        } else {
+            fallback.serialize(value, json, serializers);
+        }
+    }
+
+    @Override
+    public void serializeWithType(final Object value, final JsonGenerator json,
+            final SerializerProvider serializers, final TypeSerializer typeSerializer) throws IOException {
+
+        if (serializers.getActiveView() == null) {
+            json.setCurrentValue(value);
+            final WritableTypeId typeId = typeSerializer.writeTypePrefix(json,
+                    typeSerializer.typeId(value, JsonToken.START_OBJECT));
+            serializeMembers((Problem) value, json, serializers);
+            typeSerializer.writeTypeSuffix(json, typeId);
+        } else {
+            fallback.serializeWithType(value, json, serializers, typeSerializer);
+        }
+    }
+
+    private void serializeMembers(final Problem problem, final JsonGenerator json,
+            final SerializerProvider serializers) throws IOException {
+
+        for (final Member member : members) {
+            member.serialize(problem, json, serializers);
+        }
+
+        @Nullable final Map<String, Object> parameters = problem.getParameters();
+
+        if (parameters != null) {
+            this.parameters.serializeWithoutTypeInfo(parameters, json, serializers);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider serializers, final BeanProperty property)
+            throws JsonMappingException {
+        final JsonSerializer<?> contextual = serializers.handleSecondaryContextualization(fallback, property);
+        // anything that changes the bean serializer, e.g. property-level ignorals, needs the bean serializer
+        return contextual == fallback ? this : contextual;
+    }
+
+    @Override
+    public void resolve(final SerializerProvider serializers) throws JsonMappingException {
+        fallback.resolve(serializers);
+
+        final MapSerializer serializer = parameters(parametersType,
+                serializers.isEnabled(MapperFeature.USE_STATIC_TYPING),
+                serializers.findTypeSerializer(parametersType.getContentType()));
+        this.parameters = (MapSerializer) serializers.handlePrimaryContextualization(serializer, null);
+    }
+
+    /**
+     * The same serializer that the bean serializer uses for the {@link ProblemMixIn#getParameters() any getter}.
+     */
+    private static MapSerializer parameters(final JavaType type, final boolean staticTyping,
+            @Nullable final TypeSerializer typeSerializer) {
+        return MapSerializer.construct((Set<String>) null, type, staticTyping, typeSerializer, null, null, null);
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(final NameTransformer transformer) {
+        return fallback.unwrappingSerializer(transformer);
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(final JsonFormatVisitorWrapper visitor, final JavaType type)
+            throws JsonMappingException {
+        fallback.acceptJsonFormatVisitor(visitor, type);
+    }
+
+    @Override
+    public Iterator<PropertyWriter> properties() {
+        return fallback.properties();
+    }
+
+    @Override
+    public Class<Object> handledType() {
+        return fallback.handledType();
+    }
+
+    private enum Member {
+
+        TYPE("type", "getType") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                // see ProblemTypeConverter
+                @Nullable final URI type = problem.getType();
+                if (type != null && !Problem.DEFAULT_TYPE.equals(type)) {
+                    serializeNonEmpty(json, type.toString());
+                }
+            }
+        },
+
+        TITLE("title", "getTitle") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                serializeNonEmpty(json, problem.getTitle());
+            }
+        },
+
+        STATUS("status", "getStatus") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                // see StatusTypeSerializer
+                @Nullable final StatusType status = problem.getStatus();
+                if (status != null) {
+                    json.writeNumberField(name, status.getStatusCode());
+                }
+            }
+        },
+
+        DETAIL("detail", "getDetail") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                serializeNonEmpty(json, problem.getDetail());
+            }
+        },
+
+        INSTANCE("instance", "getInstance") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                @Nullable final URI instance = problem.getInstance();
+                if (instance != null) {
+                    serializeNonEmpty(json, instance.toString());
+                }
+            }
+        },
+
+        CAUSE("cause", "getCause") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                @Nullable final Exceptional cause = ((Exceptional) problem).getCause();
+                if (cause != null) {
+                    serializers.defaultSerializeField(name, cause, json);
+                }
+            }
+        },
+
+        STACKTRACE("stacktrace", "getStackTrace") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                final StackTraceElement[] stackTrace = ((Throwable) problem).getStackTrace();
+
+                if (stackTrace.length == 0) {
+                    return;
+                }
+
+                json.writeFieldName(name);
+
+                // same as the array serializer would do
+                if (stackTrace.length == 1 &&
+                        serializers.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)) {
+                    json.writeString(StackTraceStrings.toString(stackTrace[0]));
+                    return;
+                }
+
+                json.writeStartArray(stackTrace, stackTrace.length);
+                for (final StackTraceElement element : stackTrace) {
+                    json.writeString(StackTraceStrings.toString(element));
+                }
+                json.writeEndArray();
+            }
+        },
+
+        FINGERPRINT("fingerprint", "fingerprint") {
+            @Override
+            void serialize(final Problem problem, final JsonGenerator json, final SerializerProvider serializers)
+                    throws IOException {
+                // see FingerprintConverter
+                json.writeStringField(name, Fingerprints.toString(((Exceptional) problem).fingerprint()));
+            }
+        };
+
+        final String name;
+        private final String accessor;
+
+        Member(final String name, final String accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+
+        abstract void serialize(Problem problem, JsonGenerator json, SerializerProvider serializers)
+                throws IOException;
+
+        void serializeNonEmpty(final JsonGenerator json, @Nullable final String value) throws IOException {
+            if (value != null && !value.isEmpty()) {
+                json.writeStringField(name, value);
+            }
+        }
+
+        @Nullable
+        static Member of(final BeanPropertyWriter property) {
+            if (property.hasSerializer()) {
+                return null;
+            }
+
+            for (final Member member : values()) {
+                if (member.name.equals(property.getName()) &&
+                        member.accessor.equals(property.getMember().getName())) {
+                    return member;
+                }
+            }
+
+            return null;
+        }
+
+    }
+
+    static final class Modifier extends BeanSerializerModifier {
+
+        @Override
+        public JsonSerializer<?> modifySerializer(final SerializationConfig config,
+                final BeanDescription description, final JsonSerializer<?> serializer) {
+
+            if (!Problem.class.isAssignableFrom(description.getBeanClass()) ||
+                    !(serializer instanceof BeanSerializerBase)) {
+                return serializer;
+            }
+
+            @Nullable final AnnotatedMember anyGetter = description.findAnyGetter();
+
+            if (anyGetter == null || !"getParameters".equals(anyGetter.getName())) {
+                return serializer;
+            }
+
+            final List<Member> members = new ArrayList<>();
+            final Iterator<PropertyWriter> properties = serializer.properties();
+
+            while (properties.hasNext()) {
+                // bean serializers only ever have bean property writers
+                @Nullable final Member member = Member.of((BeanPropertyWriter) properties.next());
+
+                if (member == null) {
+                    return serializer;
+                }
+
+                members.add(member);
+            }
+
+            return new ProblemSerializer(members, anyGetter.getType(), (BeanSerializerBase) serializer,
+                    config.isEnabled(MapperFeature.USE_STATIC_TYPING));
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.zalando.problem.StackTraceStrings;
+
+final class StackTraceElementConverter extends StdConverter<StackTraceElement, String> {
+
+    @Override
+    public String convert(final StackTraceElement value) {
+        return StackTraceStrings.toString(value);
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ThrowableProblem;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Fails if serializing or deserializing problems allocates more bytes per operation than budgeted. Budgets leave some
+ * headroom over what was measured when they were set, so that only real regressions fail. Lower them whenever an
+ * optimization allows to.
+ */
+final class AllocationBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final long BUDGET = 1_024L;
+    private static final long DESERIALIZATION_BUDGET = 4_096L;
+
+    /**
+     * Slightly above the deserialization budget, since dispatching on a leading type replays the type from a buffer,
+     * even though no other member is buffered.
+     */
+    private static final long TYPE_FIRST_BUDGET = 4_608L;
+
+    /**
+     * Type ids are matched against the parser's characters, i.e. looking them up doesn't allocate at all.
+     */
+    private static final long LOOKUP_BUDGET = 0L;
+
+    private static final byte[] JSON = ("{" +
+            "\"product\":\"B00027Y5QG\"," +
+            "\"quantity\":3," +
+            "\"warehouse\":\"FRA\"," +
+            "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+            "\"status\":400," +
+            "\"title\":\"Out of Stock\"," +
+            "\"type\":\"https://example.org/out-of-stock\"}").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] TYPE_FIRST = ("{" +
+            "\"type\":\"https://example.org/out-of-stock\"," +
+            "\"title\":\"Out of Stock\"," +
+            "\"status\":400," +
+            "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+            "\"product\":\"B00027Y5QG\"," +
+            "\"quantity\":3," +
+            "\"warehouse\":\"FRA\"}").getBytes(StandardCharsets.UTF_8);
+
+    private static final ThrowableProblem PROBLEM = Problem.builder()
+            .withType(URI.create("https://example.org/out-of-stock"))
+            .withTitle("Out of Stock")
+            .withStatus(BAD_REQUEST)
+            .withDetail("Item B00027Y5QG is no longer available")
+            .withoutStackTrace()
+            .with("product", "B00027Y5QG")
+            .with("quantity", 3)
+            .with("warehouse", "FRA")
+            .build();
+
+    /**
+     * Keeps results reachable, so that allocations can't be optimized away.
+     */
+    private static volatile Object sink;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new ProblemModule());
+
+    @Test
+    void shouldStayWithinBudgetForSerializingDefaultProblem() throws Exception {
+        assertThat(allocatedBytesPerOperation(() -> mapper.writeValueAsBytes(PROBLEM)), lessThanOrEqualTo(BUDGET));
+    }
+
+    @Test
+    void shouldStayWithinBudgetForDeserializingDefaultProblem() throws Exception {
+        final ObjectReader reader = mapper.readerFor(Problem.class);
+
+        assertThat(allocatedBytesPerOperation(() -> reader.readValue(JSON)),
+                lessThanOrEqualTo(DESERIALIZATION_BUDGET));
+    }
+
+    @Test
+    void shouldStayWithinBudgetForDeserializingWithSubtypesIfTypeComesFirst() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule());
+        mapper.registerSubtypes(InsufficientFundsProblem.class);
+
+        final ObjectReader reader = mapper.readerFor(Problem.class);
+
+        assertThat(allocatedBytesPerOperation(() -> reader.readValue(TYPE_FIRST)),
+                lessThanOrEqualTo(TYPE_FIRST_BUDGET));
+    }
+
+    @Test
+    void shouldStayWithinBudgetForLookingUpTypeIds() throws Exception {
+        final Map<String, Integer> entries = new HashMap<>();
+        for (int index = 0; index < 40; index++) {
+            entries.put("https://example.org/problem-" + index, index);
+        }
+        entries.put("https://example.org/out-of-stock", 40);
+
+        final PolymorphicProblemDeserializer.TypeIds<Integer> ids =
+                new PolymorphicProblemDeserializer.TypeIds<>(entries);
+
+        try (JsonParser json = mapper.createParser(TYPE_FIRST)) {
+            json.nextToken();
+            json.nextToken();
+            json.nextToken();
+
+            assertThat(allocatedBytesPerOperation(() ->
+                            ids.id(ids.indexOf(json.getTextCharacters(), json.getTextOffset(), json.getTextLength()))),
+                    lessThanOrEqualTo(LOOKUP_BUDGET));
+        }
+    }
+
+    private static long allocatedBytesPerOperation(final Operation operation) throws Exception {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation measurement is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int iteration = 0; iteration < WARMUP; iteration++) {
+            sink = operation.run();
+        }
+
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            sink = operation.run();
+        }
+
+        return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws Exception;
+    }
+
+}
@@ -20,7 +20,11 @@ public final class JacksonStackTraceProcessor implements StackTraceProcessor {
                         "sun.reflect", 
                         "java.lang.reflect", 
                         "jdk.internal.reflect",
-                        "com.fasterxml.jackson").negate())
+                        "com.fasterxml.jackson",
+                        "org.zalando.problem.ProblemBuilder",
+                        ProblemDeserializer.class.getName(),
+                        PolymorphicProblemDeserializer.class.getName(),
+                        ListeningDeserializer.class.getName()).negate())
                 .findFirst()
                 .map(elements::indexOf)
                 .map(subList(elements))
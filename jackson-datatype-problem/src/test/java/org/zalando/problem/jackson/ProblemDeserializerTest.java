@@ -0,0 +1,579 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.DefaultProblem;
+import org.zalando.problem.Exceptional;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemCounters;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.NOT_FOUND;
+
+final class ProblemDeserializerTest {
+
+    private static final String TYPE_FIRST = "{" +
+            "\"type\":\"https://example.org/not-out-of-stock\"," +
+            "\"title\":\"Out of Stock\"," +
+            "\"status\":400," +
+            "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+            "\"instance\":\"/orders/123\"," +
+            "\"cause\":{\"title\":\"Cause\"}," +
+            "\"product\":\"B00027Y5QG\"," +
+            "\"amount\":1.5}";
+
+    private static final String TYPE_LAST = "{" +
+            "\"product\":\"B00027Y5QG\"," +
+            "\"amount\":1.5," +
+            "\"cause\":{\"title\":\"Cause\"}," +
+            "\"instance\":\"/orders/123\"," +
+            "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+            "\"status\":400," +
+            "\"title\":\"Out of Stock\"," +
+            "\"type\":\"https://example.org/not-out-of-stock\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+
+    @Test
+    void shouldStreamDefaultProblems() throws JsonMappingException {
+        assertThat(deserializer(mapper, DefaultProblem.class), is(instanceOf(ProblemDeserializer.class)));
+        assertThat(deserializer(mapper, Problem.class), is(instanceOf(PolymorphicProblemDeserializer.class)));
+        assertThat(deserializer(mapper, Exceptional.class), is(instanceOf(PolymorphicProblemDeserializer.class)));
+        assertThat(deserializer(mapper, ThrowableProblem.class), is(instanceOf(PolymorphicProblemDeserializer.class)));
+        assertThat(deserializer(mapper, InsufficientFundsProblem.class),
+                is(not(instanceOf(PolymorphicProblemDeserializer.class))));
+    }
+
+    @Test
+    void shouldBeWrappedByListener() throws JsonMappingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(new ProblemCounters()));
+
+        assertThat(deserializer(mapper, DefaultProblem.class), is(instanceOf(ListeningDeserializer.class)));
+    }
+
+    @Test
+    void shouldDeserializeRegardlessOfMemberOrder() throws IOException {
+        verify(mapper.readValue(TYPE_FIRST, Problem.class));
+        verify(mapper.readValue(TYPE_LAST, Problem.class));
+        verify(mapper.readValue(TYPE_LAST, ThrowableProblem.class));
+        verify(mapper.readValue(TYPE_LAST, DefaultProblem.class));
+    }
+
+    @Test
+    void shouldDeserializeRegardlessOfMemberOrderWithSubtypes() throws IOException {
+        final ObjectMapper mapper = withSubtypes();
+
+        verify(mapper.readValue(TYPE_FIRST, Problem.class));
+        verify(mapper.readValue(TYPE_LAST, Problem.class));
+        verify(mapper.readValue(TYPE_LAST, Exceptional.class));
+        verify(mapper.readValue(TYPE_LAST, DefaultProblem.class));
+    }
+
+    private static void verify(final Problem problem) {
+        assertThat(problem, is(instanceOf(DefaultProblem.class)));
+        assertThat(problem.getType(), hasToString("https://example.org/not-out-of-stock"));
+        assertThat(problem.getTitle(), is("Out of Stock"));
+        assertThat(problem.getStatus(), is(BAD_REQUEST));
+        assertThat(problem.getDetail(), is("Item B00027Y5QG is no longer available"));
+        assertThat(problem.getInstance(), hasToString("/orders/123"));
+        assertThat(((Problem) ((ThrowableProblem) problem).getCause()).getTitle(), is("Cause"));
+        assertThat(problem.getParameters(), hasEntry("product", "B00027Y5QG"));
+        assertThat(problem.getParameters().get("amount"), hasToString("1.5"));
+    }
+
+    @Test
+    void shouldDispatchToSubtypesRegardlessOfMemberOrder() throws IOException {
+        final ObjectMapper mapper = withSubtypes();
+
+        final Problem first = mapper.readValue(
+                "{\"type\":\"https://example.org/insufficient-funds\",\"balance\":10,\"debit\":-20}", Problem.class);
+        final Problem last = mapper.readValue(
+                "{\"balance\":10,\"debit\":-20,\"type\":\"https://example.org/insufficient-funds\"}", Problem.class);
+
+        assertThat(first, is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(((InsufficientFundsProblem) first).getDebit(), is(-20));
+        assertThat(last, is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(((InsufficientFundsProblem) last).getDebit(), is(-20));
+    }
+
+    @Test
+    void shouldDispatchCauseToSubtypes() throws IOException {
+        final ThrowableProblem problem = withSubtypes().readValue(
+                "{\"cause\":{\"balance\":10,\"debit\":-20,\"type\":\"https://example.org/insufficient-funds\"}}",
+                ThrowableProblem.class);
+
+        assertThat(problem.getCause(), is(instanceOf(InsufficientFundsProblem.class)));
+    }
+
+    @Test
+    void shouldDeserializeUnknownTypeWithSubtypes() throws IOException {
+        final Problem problem = withSubtypes().readValue(
+                "{\"title\":\"Unknown\",\"type\":\"https://example.org/unknown\"}", Problem.class);
+
+        assertThat(problem, is(instanceOf(DefaultProblem.class)));
+        assertThat(problem.getType(), hasToString("https://example.org/unknown"));
+        assertThat(problem.getTitle(), is("Unknown"));
+    }
+
+    @Test
+    void shouldDeserializeEmptyWithSubtypes() throws IOException {
+        final Problem problem = withSubtypes().readValue("{}", Problem.class);
+
+        assertThat(problem, is(instanceOf(DefaultProblem.class)));
+        assertThat(problem.getType(), is(Problem.DEFAULT_TYPE));
+        assertThat(problem.getParameters().isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldDispatchToRegisteredSubtypesRegardlessOfMemberOrder() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule()
+                .withListener(ProblemListener.DEFAULT)
+                .registerSubtype(URI.create("https://example.org/out-of-funds"), InsufficientFundsProblem.class));
+
+        final Problem first = mapper.readValue(
+                "{\"type\":\"https://example.org/out-of-funds\",\"balance\":10,\"debit\":-20}", Problem.class);
+        final Problem last = mapper.readValue(
+                "{\"balance\":10,\"debit\":-20,\"type\":\"https://example.org/out-of-funds\"}", Problem.class);
+
+        assertThat(first, is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(((InsufficientFundsProblem) first).getBalance(), is(10));
+        assertThat(last, is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(((InsufficientFundsProblem) last).getBalance(), is(10));
+    }
+
+    @Test
+    void shouldMatchRegisteredSubtypesExactly() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule()
+                .withListener(ProblemListener.DEFAULT)
+                .registerSubtype(URI.create("https://example.org/out-of-funds"), InsufficientFundsProblem.class));
+
+        final Problem problem = mapper.readValue(
+                "{\"type\":\"https://example.org/Out-Of-Funds\",\"balance\":10}", Problem.class);
+
+        assertThat(problem, is(instanceOf(DefaultProblem.class)));
+        assertThat(problem.getParameters(), hasEntry("balance", 10));
+    }
+
+    @Test
+    void shouldDispatchToUnnamedSubtypesBySimpleName() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+        mapper.registerSubtypes(UnnamedProblem.class);
+
+        final Problem problem = mapper.readValue(
+                "{\"type\":\"ProblemDeserializerTest$UnnamedProblem\"}", Problem.class);
+
+        assertThat(problem, is(instanceOf(UnnamedProblem.class)));
+    }
+
+    @Test
+    void shouldTreatNonTextualTypeAsMissingWithSubtypes() throws IOException {
+        final Problem nulled = withSubtypes().readValue("{\"title\":\"Foo\",\"type\":null}", Problem.class);
+        final Problem missing = withSubtypes().readValue("{\"title\":\"Foo\",\"amount\":[1,2]}", Problem.class);
+
+        assertThat(nulled, is(instanceOf(DefaultProblem.class)));
+        assertThat(nulled.getTitle(), is("Foo"));
+        assertThat(missing, is(instanceOf(DefaultProblem.class)));
+        assertThat(missing.getParameters().get("amount"), hasToString("[1, 2]"));
+    }
+
+    @Test
+    void shouldDispatchLeadingTypeToBeans() throws IOException {
+        final ObjectMapper mapper = withSubtypes();
+        mapper.registerSubtypes(BeanProblem.class);
+
+        final Problem problem = mapper.readValue(
+                "{\"type\":\"https://example.org/bean\",\"title\":\"Bean\",\"amount\":3}", Problem.class);
+
+        assertThat(problem, is(instanceOf(BeanProblem.class)));
+        assertThat(problem.getType(), hasToString("https://example.org/bean"));
+        assertThat(problem.getTitle(), is("Bean"));
+        assertThat(((BeanProblem) problem).amount, is(3));
+    }
+
+    @Test
+    void shouldMatchTypeIdsByCharacters() {
+        final Map<String, Integer> entries = new HashMap<>();
+        // same hash codes
+        entries.put("Aa", 1);
+        entries.put("BB", 2);
+        entries.put("https://example.org/insufficient-funds", 3);
+
+        final PolymorphicProblemDeserializer.TypeIds<Integer> ids =
+                new PolymorphicProblemDeserializer.TypeIds<>(entries);
+        final char[] chars = "[\"BB\",\"Aa\",\"A\",\"Ab\",\"https://example.org/insufficient-funds\"]".toCharArray();
+
+        assertThat(ids.isEmpty(), is(false));
+        assertThat(ids.value(ids.indexOf(chars, 2, 2)), is(2));
+        assertThat(ids.id(ids.indexOf(chars, 7, 2)), is("Aa"));
+        assertThat(ids.value(ids.indexOf(chars, 7, 2)), is(1));
+        assertThat(ids.value(ids.indexOf(chars, 21, 38)), is(3));
+        assertThat(ids.indexOf(chars, 12, 1), is(lessThan(0)));
+        assertThat(ids.indexOf(chars, 16, 2), is(lessThan(0)));
+    }
+
+    @Test
+    void shouldMatchNoTypeIdsIfEmpty() {
+        final PolymorphicProblemDeserializer.TypeIds<Integer> ids =
+                new PolymorphicProblemDeserializer.TypeIds<>(Collections.emptyMap());
+
+        assertThat(ids.isEmpty(), is(true));
+        assertThat(ids.indexOf("Aa".toCharArray(), 0, 2), is(lessThan(0)));
+    }
+
+    @Test
+    void shouldReportNonObjectsWithSubtypes() {
+        final MismatchedInputException exception = assertThrows(MismatchedInputException.class, () ->
+                withSubtypes().readValue("[]", Problem.class));
+
+        assertThat(exception.getMessage(), containsString("DefaultProblem"));
+    }
+
+    @Test
+    void shouldNotDispatchIfDefaultProblemIsTheOnlySubtype() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+        mapper.registerSubtypes(DefaultProblem.class);
+
+        verify(mapper.readValue(TYPE_LAST, Problem.class));
+    }
+
+    @Test
+    void shouldKeepParameterOrder() throws IOException {
+        final Problem problem = mapper.readValue("{\"b\":1,\"a\":2,\"c\":3,\"a\":4}", Problem.class);
+
+        assertThat(new ArrayList<>(problem.getParameters().keySet()), contains("b", "a", "c"));
+        assertThat(problem.getParameters(), hasEntry("a", 4));
+    }
+
+    @Test
+    void shouldDeserializeNulls() throws IOException {
+        final Problem problem = mapper.readValue("{" +
+                "\"type\":null,\"title\":null,\"status\":null,\"detail\":null,\"instance\":null,\"cause\":null," +
+                "\"product\":null}", Problem.class);
+
+        assertThat(problem.getType(), is(Problem.DEFAULT_TYPE));
+        assertThat(problem.getTitle(), is(nullValue()));
+        assertThat(problem.getStatus(), is(nullValue()));
+        assertThat(((ThrowableProblem) problem).getCause(), is(nullValue()));
+        assertThat(problem.getParameters(), hasEntry("product", null));
+    }
+
+    @Test
+    void shouldDeserializeRegisteredParametersIntoTheirTypes() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule()
+                .registerParameter("balance", BigDecimal.class)
+                .registerParameter("amounts", new TypeReference<List<Long>>() {}.getType()));
+
+        final Problem problem = mapper.readValue(
+                "{\"balance\":10.50,\"amounts\":[1,2],\"product\":\"B00027Y5QG\",\"debit\":1.5}", Problem.class);
+
+        assertThat(problem.getParameters(), hasEntry("balance", new BigDecimal("10.50")));
+        assertThat(problem.getParameters(), hasEntry("amounts", Arrays.asList(1L, 2L)));
+        assertThat(problem.getParameters(), hasEntry("product", "B00027Y5QG"));
+        assertThat(problem.getParameters(), hasEntry("debit", 1.5));
+    }
+
+    @Test
+    void shouldDeserializeRegisteredParametersAsNull() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().registerParameter("balance", BigDecimal.class));
+
+        final Problem problem = mapper.readValue("{\"balance\":null}", Problem.class);
+
+        assertThat(problem.getParameters(), hasEntry("balance", null));
+    }
+
+    @Test
+    void shouldReportInvalidRegisteredParameters() {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().registerParameter("balance", BigDecimal.class));
+
+        final JsonMappingException exception = assertThrows(JsonMappingException.class, () ->
+                mapper.readValue("{\"balance\":\"ten\"}", Problem.class));
+
+        assertThat(exception.getPathReference(), containsString("\"balance\""));
+    }
+
+    @Test
+    void shouldApplySettersAfterCreation() throws IOException {
+        final Problem problem = mapper.readValue("{" +
+                "\"stackTrace\":[{\"className\":\"Foo\",\"methodName\":\"bar\"}]," +
+                "\"stackTrace\":[]," +
+                "\"title\":\"Foo\"}", Problem.class);
+
+        assertThat(((ThrowableProblem) problem).getStackTrace(), is(emptyArray()));
+        assertThat(problem.getTitle(), is("Foo"));
+        assertThat(problem.getParameters().isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldIgnoreThrowableMembers() throws IOException {
+        final Problem problem = mapper.readValue("{" +
+                "\"title\":\"Foo\",\"localizedMessage\":\"Foo\",\"suppressed\":[{}],\"message\":\"Foo\"}",
+                Problem.class);
+
+        assertThat(problem.getParameters().keySet(), contains("message"));
+    }
+
+    @Test
+    void shouldIgnoreFingerprint() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints().withListener(ProblemListener.DEFAULT));
+
+        final Problem problem = mapper.readValue(
+                "{\"fingerprint\":{\"nested\":[1]},\"title\":\"Foo\"}", DefaultProblem.class);
+
+        assertThat(problem.getTitle(), is("Foo"));
+        assertThat(problem.getParameters().isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldNotifyListenerOnce() throws IOException {
+        final List<Problem> problems = new ArrayList<>();
+        final ProblemListener listener = new ProblemListener() {
+            @Override
+            public void onDeserialize(final Problem problem) {
+                problems.add(problem);
+            }
+        };
+
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule().withListener(listener));
+
+        final Problem problem = mapper.readValue(TYPE_LAST, Problem.class);
+
+        // the cause, then the problem itself
+        assertThat(problems, hasSize(2));
+        assertThat(problems.get(1), is(sameInstance(problem)));
+    }
+
+    @Test
+    void shouldReportInvalidMembers() {
+        final JsonMappingException status = assertThrows(JsonMappingException.class, () ->
+                mapper.readValue("{\"status\":\"404\"}", Problem.class));
+        final InvalidFormatException type = assertThrows(InvalidFormatException.class, () ->
+                mapper.readValue("{\"type\":\"not a uri\"}", Problem.class));
+        final MismatchedInputException title = assertThrows(MismatchedInputException.class, () ->
+                mapper.readValue("{\"title\":[]}", Problem.class));
+
+        assertThat(status.getPathReference(), containsString("\"status\""));
+        assertThat(type.getPathReference(), containsString("\"type\""));
+        assertThat(title.getPathReference(), containsString("\"title\""));
+    }
+
+    @Test
+    void shouldNotWrapExceptionsIfDisabled() {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT))
+                .disable(DeserializationFeature.WRAP_EXCEPTIONS);
+
+        final JsonMappingException exception = assertThrows(JsonMappingException.class, () ->
+                mapper.readValue("{\"title\":[]}", Problem.class));
+
+        assertThat(exception.getPath(), is(empty()));
+    }
+
+    @Test
+    void shouldReportNonObjects() throws IOException {
+        final MismatchedInputException array = assertThrows(MismatchedInputException.class, () ->
+                mapper.readValue("[]", Problem.class));
+        final MismatchedInputException string = assertThrows(MismatchedInputException.class, () ->
+                mapper.readValue("\"Foo\"", DefaultProblem.class));
+
+        assertThat(array.getMessage(), containsString("DefaultProblem"));
+        assertThat(string.getMessage(), containsString("DefaultProblem"));
+        assertThat(mapper.readValue("null", Problem.class), is(nullValue()));
+    }
+
+    @Test
+    void shouldLetBeanDeserializerCoerceScalars() throws IOException {
+        final ObjectMapper mapper = this.mapper.copy()
+                .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+
+        assertThat(mapper.readValue("\"\"", DefaultProblem.class), is(nullValue()));
+    }
+
+    @Test
+    void shouldFallBackToBeanDeserializerForPropertyLevelIgnorals() throws IOException {
+        final Wrapper wrapper = mapper.readValue(
+                "{\"problem\":{\"title\":\"Foo\",\"secret\":\"Bar\",\"product\":\"B00027Y5QG\"}}", Wrapper.class);
+
+        assertThat(wrapper.problem.getTitle(), is("Foo"));
+        assertThat(wrapper.problem.getParameters().keySet(), contains("product"));
+    }
+
+    @Test
+    void shouldFallBackToBeanDeserializerForCustomCreators() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT))
+                .addMixIn(DefaultProblem.class, RenamedMixIn.class);
+
+        final Problem problem = mapper.readValue("{\"kind\":\"https://example.org/foo\",\"status\":404}",
+                Problem.class);
+
+        assertThat(deserializer(mapper, DefaultProblem.class), is(not(instanceOf(ProblemDeserializer.class))));
+        assertThat(problem.getType(), hasToString("https://example.org/foo"));
+        assertThat(problem.getStatus(), is(NOT_FOUND));
+    }
+
+    @Test
+    void shouldNotStreamWithoutAnySetter() throws JsonMappingException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final DeserializationConfig config = mapper.getDeserializationConfig();
+        final BeanDescription description = config.introspect(mapper.constructType(DefaultProblem.class));
+        final JsonDeserializer<?> deserializer = deserializer(
+                new ObjectMapper().registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT)),
+                DefaultProblem.class);
+
+        final JsonDeserializer<?> actual = new ProblemDeserializer.Modifier()
+                .modifyDeserializer(config, description, ((ProblemDeserializer) deserializer).getDelegatee());
+
+        assertThat(actual, is(not(instanceOf(ProblemDeserializer.class))));
+    }
+
+    @Test
+    void shouldNotStreamNonBeanDeserializers() {
+        final DeserializationConfig config = mapper.getDeserializationConfig();
+        final BeanDescription description = config.introspect(mapper.constructType(DefaultProblem.class));
+
+        final JsonDeserializer<?> actual = new ProblemDeserializer.Modifier()
+                .modifyDeserializer(config, description, StringDeserializer.instance);
+
+        assertThat(actual, is(sameInstance(StringDeserializer.instance)));
+    }
+
+    @Test
+    void shouldOnlySupportSupertypesOfDefaultProblem() {
+        final DeserializationConfig config = mapper.getDeserializationConfig();
+
+        assertThat(PolymorphicProblemDeserializer.supports(
+                config.introspect(mapper.constructType(Exceptional.class))), is(true));
+        assertThat(PolymorphicProblemDeserializer.supports(
+                config.introspect(mapper.constructType(InsufficientFundsProblem.class))), is(false));
+        assertThat(PolymorphicProblemDeserializer.supports(
+                config.introspect(mapper.constructType(BusinessException.class))), is(false));
+        assertThat(PolymorphicProblemDeserializer.supports(
+                config.introspect(mapper.constructType(AbstractProblem.class))), is(false));
+    }
+
+    private static ObjectMapper withSubtypes() {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+        mapper.registerSubtypes(InsufficientFundsProblem.class);
+        mapper.registerSubtypes(OutOfStockException.class);
+        return mapper;
+    }
+
+    private static JsonDeserializer<?> deserializer(final ObjectMapper mapper, final Class<?> type)
+            throws JsonMappingException {
+        return ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createInstance(mapper.getDeserializationConfig(), null, null)
+                .findContextualValueDeserializer(mapper.constructType(type), null);
+    }
+
+    static final class Wrapper {
+
+        @JsonIgnoreProperties("secret")
+        @JsonProperty("problem")
+        DefaultProblem problem;
+
+    }
+
+    abstract static class RenamedMixIn {
+
+        @JsonCreator
+        RenamedMixIn(
+                @Nullable @JsonProperty("kind") final URI type,
+                @Nullable @JsonProperty("title") final String title,
+                @Nullable @JsonProperty("status") final StatusType status,
+                @Nullable @JsonProperty("detail") final String detail,
+                @Nullable @JsonProperty("instance") final URI instance,
+                @Nullable @JsonProperty("cause") final ThrowableProblem cause) {
+
+        }
+
+        @JsonAnySetter
+        abstract void set(final String key, final Object value);
+
+    }
+
+    @JsonTypeName("https://example.org/bean")
+    static final class BeanProblem implements Problem {
+
+        @JsonProperty
+        private URI type;
+
+        @JsonProperty
+        private String title;
+
+        @JsonProperty
+        private int amount;
+
+        @Override
+        public URI getType() {
+            return type;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+    }
+
+    static final class UnnamedProblem extends AbstractThrowableProblem {
+
+    }
+
+    abstract static class AbstractProblem implements Problem {
+
+    }
+
+}
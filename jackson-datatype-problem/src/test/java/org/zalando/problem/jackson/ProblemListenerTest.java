@@ -0,0 +1,112 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemCounters;
+import org.zalando.problem.StatusRegistry;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+final class ProblemListenerTest {
+
+    private final URI type = URI.create("https://example.org/" + UUID.randomUUID());
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new ProblemModule().withListener(new ProblemCounters()));
+
+    ProblemListenerTest() {
+        mapper.registerSubtypes(InsufficientFundsProblem.class);
+    }
+
+    @Test
+    void shouldNotifyOnSerialize() throws IOException {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(type)
+                .withStatus(BAD_REQUEST)
+                .withCause(Problem.builder().withType(type).build())
+                .build();
+
+        mapper.writeValueAsString(problem);
+
+        assertThat(ProblemCounters.serialized().count(type), is(2L));
+    }
+
+    @Test
+    void shouldNotifyOnDeserialize() throws IOException {
+        final String json = "{\"type\":\"" + type + "\",\"cause\":{\"type\":\"" + type + "\"}}";
+
+        mapper.readValue(json, Problem.class);
+        mapper.readValue(json, ThrowableProblem.class);
+
+        assertThat(ProblemCounters.deserialized().count(type), is(4L));
+    }
+
+    @Test
+    void shouldNotifyOnDeserializeOfCustomProblem() throws IOException {
+        final URI insufficientFunds = URI.create(InsufficientFundsProblem.TYPE_VALUE);
+        final long before = ProblemCounters.deserialized().count(insufficientFunds);
+
+        mapper.readValue("{\"type\":\"" + insufficientFunds + "\",\"balance\":10,\"debit\":-2}", Problem.class);
+
+        assertThat(ProblemCounters.deserialized().count(insufficientFunds) > before, is(true));
+    }
+
+    @Test
+    void shouldNotNotifyWithoutListener() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+
+        final ThrowableProblem problem = Problem.builder().withType(type).build();
+        mapper.readValue(mapper.writeValueAsString(problem), Problem.class);
+
+        assertThat(ProblemCounters.serialized().count(type), is(0L));
+        assertThat(ProblemCounters.deserialized().count(type), is(0L));
+    }
+
+    @Test
+    void shouldDelegateToPlainSerializer() throws IOException {
+        final ListeningSerializer unit = new ListeningSerializer(new StdSerializer<Problem>(Problem.class) {
+            @Override
+            public void serialize(final Problem value, final JsonGenerator json,
+                    final SerializerProvider serializers) throws IOException {
+                json.writeString(value.getType().toString());
+            }
+        }, new ProblemCounters());
+
+        final StringWriter writer = new StringWriter();
+
+        try (JsonGenerator json = mapper.getFactory().createGenerator(writer)) {
+            unit.resolve(mapper.getSerializerProviderInstance());
+            unit.serialize(Problem.builder().withType(type).build(), json, mapper.getSerializerProviderInstance());
+        }
+
+        assertThat(writer.toString(), is("\"" + type + "\""));
+        assertThat(ProblemCounters.serialized().count(type), is(1L));
+        assertThat(unit.handledType(), is(equalTo((Object) Problem.class)));
+    }
+
+    @Test
+    void shouldKeepListeningWhenDelegateChanges() {
+        final ListeningDeserializer unit = new ListeningDeserializer(
+                new StatusTypeDeserializer(StatusRegistry.of()), new ProblemCounters());
+
+        assertThat(unit.newDelegatingInstance(new StatusTypeDeserializer(StatusRegistry.of())),
+                is(instanceOf(ListeningDeserializer.class)));
+    }
+
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.zalando.problem.DefaultProblem;
 import org.zalando.problem.Exceptional;
+import org.zalando.problem.Fingerprints;
 import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
 import org.zalando.problem.StatusType;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 
 import static com.jayway.jsonassert.JsonAssert.with;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
@@ -138,6 +140,75 @@ final class ProblemMixInTest {
                 .assertThat("$.stacktrace[0]", is(instanceOf(String.class)));
     }
 
+    @Test
+    void shouldNotSerializeFingerprintByDefault() throws JsonProcessingException {
+        final Problem problem = Problem.builder()
+                .withTitle("Foo")
+                .withStatus(BAD_REQUEST)
+                .build();
+
+        with(mapper.writeValueAsString(problem))
+                .assertNotDefined("$.fingerprint");
+    }
+
+    @Test
+    void shouldSerializeFingerprint() throws JsonProcessingException {
+        final ThrowableProblem cause = Problem.builder()
+                .withTitle("Bar")
+                .withStatus(BAD_REQUEST)
+                .build();
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Foo")
+                .withStatus(BAD_REQUEST)
+                .withCause(cause)
+                .build();
+
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints());
+
+        with(mapper.writeValueAsString(problem))
+                .assertThat("$.fingerprint", is(Fingerprints.toString(problem.fingerprint())))
+                .assertThat("$.cause.fingerprint", is(Fingerprints.toString(cause.fingerprint())))
+                .assertNotDefined("$.stacktrace");
+    }
+
+    @Test
+    void shouldSerializeFingerprintAndStacktrace() throws JsonProcessingException {
+        final Exceptional problem = new OutOfStockException("Item B00027Y5QG is no longer available");
+
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints().withStackTraces());
+
+        with(mapper.writeValueAsString(problem))
+                .assertThat("$.fingerprint", is(Fingerprints.toString(problem.fingerprint())))
+                .assertThat("$.stacktrace", is(instanceOf(List.class)));
+    }
+
+    @Test
+    void shouldNotSerializeFingerprintIfDisabled() throws JsonProcessingException {
+        final Problem problem = Problem.builder()
+                .withTitle("Foo")
+                .build();
+
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints().withFingerprints(false));
+
+        with(mapper.writeValueAsString(problem))
+                .assertNotDefined("$.fingerprint");
+    }
+
+    @Test
+    void shouldIgnoreFingerprintWhenDeserializing() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints());
+
+        final Problem problem = mapper.readValue(
+                "{\"title\":\"Foo\",\"fingerprint\":\"eb89d74408338ffc\",\"product\":\"B00027Y5QG\"}",
+                Problem.class);
+
+        assertThat(problem.getParameters(), is(equalTo(singletonMap("product", "B00027Y5QG"))));
+    }
+
     @Test
     void shouldDeserializeDefaultProblem() throws IOException {
         final URL resource = getResource("default.json");
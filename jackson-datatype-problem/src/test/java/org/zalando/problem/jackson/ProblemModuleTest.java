@@ -3,6 +3,9 @@ package org.zalando.problem.jackson;
 import org.junit.jupiter.api.Test;
 import org.zalando.problem.Status;
 
+import java.math.BigDecimal;
+import java.net.URI;
+
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class ProblemModuleTest {
@@ -17,4 +20,39 @@ final class ProblemModuleTest {
         assertThrows(IllegalArgumentException.class, () -> new ProblemModule(Status.class, CustomStatus.class));
     }
 
+    @Test
+    void shouldThrowForDuplicateSubtype() {
+        final URI type = URI.create("https://example.org/out-of-funds");
+        final ProblemModule module = new ProblemModule().registerSubtype(type, InsufficientFundsProblem.class);
+
+        assertThrows(IllegalArgumentException.class, () -> module.registerSubtype(type, IOProblem.class));
+    }
+
+    @Test
+    void shouldRejectNullSubtypes() {
+        final URI type = URI.create("https://example.org/out-of-funds");
+
+        assertThrows(NullPointerException.class, () -> new ProblemModule().registerSubtype(null, IOProblem.class));
+        assertThrows(NullPointerException.class, () -> new ProblemModule().registerSubtype(type, null));
+    }
+
+    @Test
+    void shouldThrowForDuplicateParameter() {
+        final ProblemModule module = new ProblemModule().registerParameter("balance", BigDecimal.class);
+
+        assertThrows(IllegalArgumentException.class, () -> module.registerParameter("balance", Integer.class));
+    }
+
+    @Test
+    void shouldRejectStandardMembersAsParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ProblemModule().registerParameter("status", Integer.class));
+    }
+
+    @Test
+    void shouldRejectNullParameters() {
+        assertThrows(NullPointerException.class, () -> new ProblemModule().registerParameter(null, String.class));
+        assertThrows(NullPointerException.class, () -> new ProblemModule().registerParameter("product", null));
+    }
+
 }
@@ -0,0 +1,439 @@
+package org.zalando.problem.jackson;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonObjectFormatVisitor;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.DefaultProblem;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemCounters;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.NOT_FOUND;
+
+final class ProblemSerializerTest {
+
+    private static final URI TYPE = URI.create("https://example.org/out-of-stock");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new ProblemModule().withListener(ProblemListener.DEFAULT));
+
+    ProblemSerializerTest() {
+        mapper.registerSubtypes(InsufficientFundsProblem.class);
+        mapper.registerSubtypes(OutOfStockException.class);
+    }
+
+    @Test
+    void shouldStreamKnownProblems() throws JsonMappingException {
+        assertThat(serializer(DefaultProblem.class), is(instanceOf(ProblemSerializer.class)));
+        assertThat(serializer(InsufficientFundsProblem.class), is(instanceOf(ProblemSerializer.class)));
+        assertThat(serializer(OutOfStockException.class), is(instanceOf(ProblemSerializer.class)));
+        assertThat(serializer(IOProblem.class), is(instanceOf(ProblemSerializer.class)));
+    }
+
+    @Test
+    void shouldBeWrappedByListener() throws JsonMappingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withListener(new ProblemCounters()));
+
+        assertThat(mapper.getSerializerProviderInstance().findValueSerializer(DefaultProblem.class),
+                is(instanceOf(ListeningSerializer.class)));
+    }
+
+    @Test
+    void shouldSerializeLikeBeanSerializer() throws JsonProcessingException {
+        final Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("a", 1);
+        nested.put("b", null);
+
+        final ThrowableProblem problem = Problem.builder()
+                .withType(TYPE)
+                .withTitle("")
+                .withStatus(BAD_REQUEST)
+                .withDetail("Item B00027Y5QG is no longer available")
+                .withInstance(URI.create(""))
+                .with("null", null)
+                .with("empty", "")
+                .with("list", Collections.emptyList())
+                .with("map", nested)
+                .withCause(Problem.builder().withTitle("Cause").withoutStackTrace().build())
+                .withoutStackTrace()
+                .build();
+
+        assertThat(mapper.writeValueAsString(problem), is("{" +
+                "\"type\":\"https://example.org/out-of-stock\"," +
+                "\"status\":400," +
+                "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+                "\"cause\":{\"title\":\"Cause\"}," +
+                "\"null\":null," +
+                "\"empty\":\"\"," +
+                "\"list\":[]," +
+                "\"map\":{\"a\":1,\"b\":null}}"));
+    }
+
+    @Test
+    void shouldKeepPropertyOrderOfSubclasses() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints().withListener(ProblemListener.DEFAULT));
+
+        final InsufficientFundsProblem problem = new InsufficientFundsProblem(10, -2);
+
+        assertThat(mapper.writeValueAsString(problem), is("{" +
+                "\"fingerprint\":\"" + Fingerprints.toString(problem.fingerprint()) + "\"," +
+                "\"type\":\"https://example.org/insufficient-funds\"," +
+                "\"title\":\"Insufficient Funds\"," +
+                "\"status\":400}"));
+    }
+
+    @Test
+    void shouldSerializeStackTrace() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withStackTraces().withListener(ProblemListener.DEFAULT));
+
+        final ThrowableProblem problem = Problem.builder().withTitle("Not Found").withStatus(NOT_FOUND).build();
+        problem.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.example.Service", "call", "Service.java", 1)});
+
+        assertThat(mapper.writeValueAsString(problem), is("{" +
+                "\"title\":\"Not Found\"," +
+                "\"status\":404," +
+                "\"stacktrace\":[\"org.example.Service.call(Service.java:1)\"]}"));
+    }
+
+    @Test
+    void shouldOmitEmptyStackTrace() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withStackTraces().withListener(ProblemListener.DEFAULT));
+
+        final ThrowableProblem problem = Problem.builder().withTitle("Not Found").withoutStackTrace().build();
+
+        assertThat(mapper.writeValueAsString(problem), is("{\"title\":\"Not Found\"}"));
+    }
+
+    @Test
+    void shouldSerializeStackTraceOfFallbacks() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withStackTraces().withListener(ProblemListener.DEFAULT));
+
+        final ProductProblem problem = new ProductProblem();
+        problem.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.example.Service", "call", "Service.java", 1)});
+
+        assertThat(mapper.writeValueAsString(problem), containsString(
+                "\"stacktrace\":[\"org.example.Service.call(Service.java:1)\"]"));
+    }
+
+    @Test
+    void shouldSerializeFingerprintOfFallbacks() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withFingerprints().withListener(ProblemListener.DEFAULT));
+
+        final ProductProblem problem = new ProductProblem();
+
+        assertThat(mapper.writeValueAsString(problem), containsString(
+                "\"fingerprint\":\"" + Fingerprints.toString(problem.fingerprint()) + "\""));
+    }
+
+    @Test
+    void shouldUnwrapSingleStackTraceElementIfEnabled() throws JsonProcessingException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withStackTraces().withListener(ProblemListener.DEFAULT))
+                .enable(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED);
+
+        final ThrowableProblem problem = Problem.builder().withTitle("Not Found").withStatus(NOT_FOUND).build();
+        problem.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.example.Service", "call", "Service.java", 1)});
+
+        assertThat(mapper.writeValueAsString(problem), is("{" +
+                "\"title\":\"Not Found\"," +
+                "\"status\":404," +
+                "\"stacktrace\":\"org.example.Service.call(Service.java:1)\"}"));
+
+        final StackTraceElement element = new StackTraceElement("org.example.Service", "call", "Service.java", 1);
+        problem.setStackTrace(new StackTraceElement[]{element, element});
+
+        assertThat(mapper.writeValueAsString(problem), is("{" +
+                "\"title\":\"Not Found\"," +
+                "\"status\":404," +
+                "\"stacktrace\":[\"org.example.Service.call(Service.java:1)\"," +
+                "\"org.example.Service.call(Service.java:1)\"]}"));
+    }
+
+    @Test
+    void shouldSerializeCustomProblemWithoutParameters() throws JsonProcessingException {
+        final Problem problem = new Problem() {
+            @Override
+            @Nullable
+            public URI getType() {
+                return null;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Out of Stock";
+            }
+
+            @Override
+            @Nullable
+            public Map<String, Object> getParameters() {
+                return null;
+            }
+        };
+
+        assertThat(mapper.writeValueAsString(problem), is("{\"title\":\"Out of Stock\"}"));
+    }
+
+    @Test
+    void shouldSerializeWithActiveView() throws JsonProcessingException {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(TYPE)
+                .withStatus(BAD_REQUEST)
+                .withCause(Problem.builder().withTitle("Cause").withoutStackTrace().build())
+                .withoutStackTrace()
+                .build();
+
+        assertThat(mapper.writerWithView(Object.class).writeValueAsString(problem),
+                is(mapper.writeValueAsString(problem)));
+        assertThat(mapper.writerWithView(Object.class).writeValueAsString(singletonList(problem)),
+                is(mapper.writeValueAsString(singletonList(problem))));
+    }
+
+    @Test
+    void shouldFallBackForAdditionalProperties() throws JsonProcessingException {
+        assertThat(serializer(ProductProblem.class), is(not(instanceOf(ProblemSerializer.class))));
+        assertThat(mapper.writeValueAsString(new ProductProblem()), is("{" +
+                "\"product\":\"B00027Y5QG\"," +
+                "\"type\":\"https://example.org/out-of-stock\"}"));
+    }
+
+    @Test
+    void shouldFallBackForCustomPropertySerializers() throws JsonProcessingException {
+        assertThat(serializer(ShoutingProblem.class), is(not(instanceOf(ProblemSerializer.class))));
+        assertThat(mapper.writeValueAsString(new ShoutingProblem()), is("{\"title\":\"OUT OF STOCK\"}"));
+    }
+
+    @Test
+    void shouldFallBackForCustomAccessors() throws JsonProcessingException {
+        assertThat(serializer(DescribedProblem.class), is(not(instanceOf(ProblemSerializer.class))));
+        assertThat(mapper.writeValueAsString(new DescribedProblem()), is("{\"detail\":\"Sold out\"}"));
+    }
+
+    @Test
+    void shouldFallBackForCustomAnyGetter() throws JsonProcessingException {
+        assertThat(serializer(ExtensibleProblem.class), is(not(instanceOf(ProblemSerializer.class))));
+        assertThat(mapper.writeValueAsString(new ExtensibleProblem()), is("{\"product\":\"B00027Y5QG\"}"));
+    }
+
+    @Test
+    void shouldFallBackWithoutAnyGetter() throws JsonProcessingException {
+        assertThat(serializer(ClosedProblem.class), is(not(instanceOf(ProblemSerializer.class))));
+        assertThat(mapper.writeValueAsString(new ClosedProblem()), is("{" +
+                "\"parameters\":{\"product\":\"B00027Y5QG\"}," +
+                "\"title\":\"Closed\"}"));
+    }
+
+    @Test
+    void shouldIgnoreNonBeanSerializers() {
+        final SerializationConfig config = mapper.getSerializationConfig();
+        final ProblemSerializer.Modifier modifier = new ProblemSerializer.Modifier();
+        final BeanDescription problem = config.introspect(mapper.constructType(DefaultProblem.class));
+        final BeanDescription string = config.introspect(mapper.constructType(String.class));
+
+        assertThat(modifier.modifySerializer(config, problem, ToStringSerializer.instance),
+                is(sameInstance(ToStringSerializer.instance)));
+        assertThat(modifier.modifySerializer(config, string, ToStringSerializer.instance),
+                is(sameInstance(ToStringSerializer.instance)));
+    }
+
+    @Test
+    void shouldHonorPropertyLevelIgnorals() throws JsonProcessingException {
+        final IgnoringWrapper wrapper = new IgnoringWrapper(Problem.valueOf(NOT_FOUND));
+
+        assertThat(mapper.writeValueAsString(wrapper), is("{\"problem\":{\"status\":404}}"));
+    }
+
+    @Test
+    void shouldSupportUnwrapping() throws JsonProcessingException {
+        final UnwrappingWrapper wrapper = new UnwrappingWrapper(Problem.valueOf(NOT_FOUND));
+
+        assertThat(mapper.writer().without(SerializationFeature.FAIL_ON_UNWRAPPED_TYPE_IDENTIFIERS)
+                .writeValueAsString(wrapper), is("{\"title\":\"Not Found\",\"status\":404}"));
+    }
+
+    @Test
+    void shouldDescribeFormat() throws JsonMappingException {
+        final List<String> properties = new ArrayList<>();
+
+        mapper.acceptJsonFormatVisitor(DefaultProblem.class, new JsonFormatVisitorWrapper.Base() {
+            @Override
+            public JsonObjectFormatVisitor expectObjectFormat(final JavaType type) {
+                return new JsonObjectFormatVisitor.Base(getProvider()) {
+                    @Override
+                    public void optionalProperty(final BeanProperty property) {
+                        properties.add(property.getName());
+                    }
+                };
+            }
+        });
+
+        assertThat(properties, contains("type", "title", "status", "detail", "instance", "cause"));
+    }
+
+    @Test
+    void shouldExposeBeanProperties() throws JsonMappingException {
+        final JsonSerializer<Object> serializer = serializer(DefaultProblem.class);
+        final List<String> properties = new ArrayList<>();
+        serializer.properties().forEachRemaining(property -> properties.add(property.getName()));
+
+        assertThat(serializer.handledType(), is(DefaultProblem.class));
+        assertThat(properties, contains("type", "title", "status", "detail", "instance", "cause"));
+        assertThat(((BeanPropertyWriter) serializer.properties().next()).getName(), is("type"));
+    }
+
+    private JsonSerializer<Object> serializer(final Class<?> type) throws JsonMappingException {
+        return mapper.getSerializerProviderInstance().findValueSerializer(type);
+    }
+
+    static final class ProductProblem extends AbstractThrowableProblem {
+
+        ProductProblem() {
+            super(TYPE);
+        }
+
+        public String getProduct() {
+            return "B00027Y5QG";
+        }
+
+    }
+
+    static final class ShoutingProblem extends AbstractThrowableProblem {
+
+        @Override
+        @JsonSerialize(using = ShoutingSerializer.class)
+        public String getTitle() {
+            return "Out of Stock";
+        }
+
+    }
+
+    static final class ShoutingSerializer extends StdSerializer<String> {
+
+        ShoutingSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(final String value, final JsonGenerator json,
+                final SerializerProvider serializers) throws IOException {
+            json.writeString(value.toUpperCase());
+        }
+
+    }
+
+    static final class DescribedProblem extends AbstractThrowableProblem {
+
+        @Override
+        @JsonIgnore
+        public String getDetail() {
+            return "Out of stock";
+        }
+
+        @JsonProperty("detail")
+        public String describe() {
+            return "Sold out";
+        }
+
+    }
+
+    static final class ExtensibleProblem extends AbstractThrowableProblem {
+
+        @Override
+        @JsonAnyGetter(enabled = false)
+        public Map<String, Object> getParameters() {
+            return super.getParameters();
+        }
+
+        @JsonAnyGetter
+        public Map<String, Object> extensions() {
+            return Collections.singletonMap("product", "B00027Y5QG");
+        }
+
+    }
+
+    static final class ClosedProblem extends AbstractThrowableProblem {
+
+        ClosedProblem() {
+            super(null, "Closed");
+        }
+
+        @Override
+        @JsonAnyGetter(enabled = false)
+        public Map<String, Object> getParameters() {
+            return Collections.singletonMap("product", "B00027Y5QG");
+        }
+
+    }
+
+    static final class IgnoringWrapper {
+
+        @JsonIgnoreProperties("title")
+        public final Problem problem;
+
+        IgnoringWrapper(final Problem problem) {
+            this.problem = problem;
+        }
+
+    }
+
+    static final class UnwrappingWrapper {
+
+        @JsonUnwrapped
+        public final Problem problem;
+
+        UnwrappingWrapper(final Problem problem) {
+            this.problem = problem;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmark jar. It accepts the same arguments as {@link Main}, but attaches the
+ * {@link GCProfiler} unless profilers are chosen explicitly, since allocations per operation
+ * ({@code gc.alloc.rate.norm}) are the most stable indicator of regressions.
+ *
+ * <pre>{@code
+ * java -jar problem-benchmarks/target/benchmarks.jar JacksonBenchmark
+ * }</pre>
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+
+    }
+
+    public static void main(final String... args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions options = new CommandLineOptions(args);
+
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        final OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options);
+
+        if (options.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+}
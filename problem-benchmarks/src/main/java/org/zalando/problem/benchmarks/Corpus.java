@@ -0,0 +1,70 @@
+package org.zalando.problem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.zalando.problem.Problem;
+import org.zalando.problem.jackson.ProblemModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A fixed set of sample payloads, kept as resources so that numbers stay comparable across changes:
+ *
+ * <ul>
+ *     <li>{@code default}: a {@link org.zalando.problem.DefaultProblem} with a few parameters</li>
+ *     <li>{@code parameters}: a {@link org.zalando.problem.DefaultProblem} with 50 parameters, some of them nested</li>
+ *     <li>{@code cause}: a {@link org.zalando.problem.DefaultProblem} with a cause</li>
+ *     <li>{@code out-of-stock}: a registered {@link OutOfStockProblem subtype}</li>
+ *     <li>{@code default-type-last} and {@code out-of-stock-type-last}: the same as {@code default} and
+ *     {@code out-of-stock}, respectively, but with the {@code "type"} member last, i.e. after all others</li>
+ * </ul>
+ *
+ * Benchmarks that need problems rather than payloads read them once, using Jackson.
+ */
+final class Corpus {
+
+    static final String DEFAULT = "default";
+    static final String PARAMETERS = "parameters";
+    static final String CAUSE = "cause";
+    static final String OUT_OF_STOCK = "out-of-stock";
+    static final String DEFAULT_TYPE_LAST = "default-type-last";
+    static final String OUT_OF_STOCK_TYPE_LAST = "out-of-stock-type-last";
+
+    private static final ObjectMapper MAPPER = mapper(new ProblemModule());
+
+    private Corpus() {
+
+    }
+
+    static ObjectMapper mapper(final ProblemModule module) {
+        final ObjectMapper mapper = new ObjectMapper().registerModule(module);
+        mapper.registerSubtypes(OutOfStockProblem.class);
+        return mapper;
+    }
+
+    static byte[] bytes(final String name) {
+        final String resource = "corpus/" + name + ".json";
+
+        try (InputStream stream = Objects.requireNonNull(Corpus.class.getResourceAsStream(resource), resource)) {
+            return stream.readAllBytes();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String string(final String name) {
+        return new String(bytes(name), StandardCharsets.UTF_8);
+    }
+
+    static Problem problem(final String name) {
+        try {
+            return MAPPER.readValue(bytes(name), Problem.class);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.zalando.problem.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.gson.ProblemAdapterFactory;
+import org.zalando.problem.jackson.ProblemModule;
+import org.zalando.problem.json.ProblemCodec;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Measures the time to the first serialized problem in a fresh JVM, i.e. including class loading and setting up the
+ * binding, with Jackson's {@link ProblemModule}, Gson's {@link ProblemAdapterFactory} or the dependency-free
+ * {@link ProblemCodec}. Every fork contributes exactly one sample, hence the number of forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+@State(Scope.Benchmark)
+public class FirstSerializationBenchmark {
+
+    @Param({"jackson", "gson", "json"})
+    public String binding;
+
+    @Benchmark
+    public byte[] firstProblem() throws JsonProcessingException {
+        final Problem problem = Problem.builder()
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .with("product", "B00027Y5QG")
+                .build();
+
+        switch (binding) {
+            case "jackson":
+                final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule());
+                return mapper.writeValueAsBytes(problem);
+            case "gson":
+                final Gson gson = new GsonBuilder()
+                        .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                        .create();
+                return gson.toJson(problem, Problem.class).getBytes(UTF_8);
+            default:
+                return new ProblemCodec().write(problem);
+        }
+    }
+
+}
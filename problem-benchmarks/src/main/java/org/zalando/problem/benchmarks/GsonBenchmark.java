@@ -0,0 +1,65 @@
+package org.zalando.problem.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.gson.ProblemAdapterFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing and deserializing the {@link Corpus} with the Gson {@link ProblemAdapterFactory}, i.e. both
+ * {@link org.zalando.problem.DefaultProblem default problems} and a registered {@link OutOfStockProblem subtype}.
+ * Subtypes are written along a precomputed field plan, but read reflectively, which requires access to the fields of
+ * {@link Throwable}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+@State(Scope.Benchmark)
+public class GsonBenchmark {
+
+    @Param({Corpus.DEFAULT, Corpus.PARAMETERS, Corpus.CAUSE, Corpus.OUT_OF_STOCK,
+            Corpus.DEFAULT_TYPE_LAST, Corpus.OUT_OF_STOCK_TYPE_LAST})
+    public String sample;
+
+    private Gson gson;
+
+    private Problem problem;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory()
+                        .registerSubtype(OutOfStockProblem.TYPE, OutOfStockProblem.class))
+                .create();
+
+        problem = Corpus.problem(sample);
+        json = Corpus.string(sample);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(problem, Problem.class);
+    }
+
+    @Benchmark
+    public Problem deserialize() {
+        return gson.fromJson(json, Problem.class);
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.zalando.problem.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.jackson.ProblemModule;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing and deserializing the {@link Corpus} with the Jackson {@link ProblemModule}, with and without
+ * {@link ProblemModule#withStackTraces() stack traces}. Problems to serialize carry the stack trace of reading them.
+ * Samples with the {@code "type"} member last show the cost of looking for the type id before deserializing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    @Param({Corpus.DEFAULT, Corpus.PARAMETERS, Corpus.CAUSE, Corpus.OUT_OF_STOCK,
+            Corpus.DEFAULT_TYPE_LAST, Corpus.OUT_OF_STOCK_TYPE_LAST})
+    public String sample;
+
+    @Param({"false", "true"})
+    public boolean stackTraces;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    private Problem problem;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper mapper = Corpus.mapper(new ProblemModule().withStackTraces(stackTraces));
+
+        writer = mapper.writerFor(Problem.class);
+        reader = mapper.readerFor(Problem.class);
+
+        problem = Corpus.problem(sample);
+        json = Corpus.bytes(sample);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(problem);
+    }
+
+    @Benchmark
+    public Problem deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+}
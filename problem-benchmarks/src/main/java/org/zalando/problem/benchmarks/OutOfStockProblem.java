@@ -0,0 +1,42 @@
+package org.zalando.problem.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.zalando.problem.AbstractThrowableProblem;
+
+import java.net.URI;
+
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * A registered subtype, as used by both JSON bindings.
+ */
+@JsonTypeName(OutOfStockProblem.TYPE_VALUE)
+public final class OutOfStockProblem extends AbstractThrowableProblem {
+
+    static final String TYPE_VALUE = "https://example.org/out-of-stock";
+    static final URI TYPE = URI.create(TYPE_VALUE);
+
+    private final String product;
+    private final int quantity;
+
+    @JsonCreator
+    public OutOfStockProblem(
+            @JsonProperty("detail") final String detail,
+            @JsonProperty("product") final String product,
+            @JsonProperty("quantity") final int quantity) {
+        super(TYPE, "Out of Stock", BAD_REQUEST, detail);
+        this.product = product;
+        this.quantity = quantity;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+}
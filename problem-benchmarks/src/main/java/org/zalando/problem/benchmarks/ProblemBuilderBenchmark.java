@@ -0,0 +1,127 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.ThrowableProblem;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Measures the cost of building problems with and without parameters, including 0, 5 and 50 parameters added one by
+ * one. Stack traces are disabled, since they would dominate both time and allocations. Run with {@code -prof gc} to see
+ * the bytes allocated per build, i.e. {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProblemBuilderBenchmark {
+
+    private final URI type = URI.create("https://example.org/out-of-stock");
+
+    private final Map<String, Object> parameters = Map.of("product", "B00027Y5QG", "quantity", 3);
+
+    private final ProblemBuilder builder = Problem.builder();
+
+    @Benchmark
+    public ThrowableProblem withoutParameters() {
+        return Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+    }
+
+    @Benchmark
+    public ThrowableProblem withParameters() {
+        return Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .with("product", "B00027Y5QG")
+                .with("quantity", 3)
+                .with("warehouse", "FRA")
+                .build();
+    }
+
+    @Benchmark
+    public ThrowableProblem withParameterMap() {
+        return Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .with(parameters)
+                .build();
+    }
+
+    @Benchmark
+    public ThrowableProblem withParameterCount(final Parameters parameters) {
+        final ProblemBuilder builder = Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace();
+
+        for (int index = 0; index < parameters.count; index++) {
+            builder.with(parameters.keys[index], parameters.values[index]);
+        }
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public ThrowableProblem reusedBuilder() {
+        return builder.reset()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .with("product", "B00027Y5QG")
+                .with("quantity", 3)
+                .with("warehouse", "FRA")
+                .build();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Parameters {
+
+        @Param({"0", "5", "50"})
+        public int count;
+
+        private String[] keys;
+        private Object[] values;
+
+        @Setup
+        public void setUp() {
+            keys = new String[count];
+            values = new Object[count];
+
+            for (int index = 0; index < count; index++) {
+                keys[index] = "field-" + index;
+                values[index] = index % 2 == 0 ? "violation " + index : index;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.json.ProblemCodec;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing and deserializing the {@link Corpus} with the dependency-free {@link ProblemCodec}, to be
+ * compared with {@link JacksonBenchmark} and {@link GsonBenchmark}. Samples of the
+ * {@link OutOfStockProblem subtype} are left out, since the codec only knows default problems.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProblemCodecBenchmark {
+
+    @Param({Corpus.DEFAULT, Corpus.PARAMETERS, Corpus.CAUSE, Corpus.DEFAULT_TYPE_LAST})
+    public String sample;
+
+    private ProblemCodec codec;
+
+    private Problem problem;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        codec = new ProblemCodec();
+
+        problem = Corpus.problem(sample);
+        json = Corpus.bytes(sample);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return codec.write(problem);
+    }
+
+    @Benchmark
+    public Problem deserialize() {
+        return codec.read(json);
+    }
+
+}
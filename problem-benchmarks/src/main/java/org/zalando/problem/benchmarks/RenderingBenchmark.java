@@ -0,0 +1,57 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ThrowableProblem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Problem#toString(Problem) rendering} problems of the {@link Corpus}. Problems memoize their
+ * renderings, which is why {@code render} calls the underlying static method, while the {@code memoized} benchmarks
+ * show what repeated calls, e.g. by logging frameworks, cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderingBenchmark {
+
+    @Param({Corpus.DEFAULT, Corpus.PARAMETERS, Corpus.CAUSE, Corpus.OUT_OF_STOCK})
+    public String sample;
+
+    private ThrowableProblem problem;
+
+    @Setup
+    public void setUp() {
+        problem = (ThrowableProblem) Corpus.problem(sample);
+    }
+
+    @Benchmark
+    public String render() {
+        return Problem.toString(problem);
+    }
+
+    @Benchmark
+    public String memoizedToString() {
+        return problem.toString();
+    }
+
+    @Benchmark
+    public String memoizedMessage() {
+        return problem.getMessage();
+    }
+
+}
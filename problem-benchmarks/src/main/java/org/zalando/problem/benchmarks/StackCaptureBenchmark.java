@@ -0,0 +1,80 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StackTraces;
+import org.zalando.problem.ThrowableProblem;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Compares {@link Throwable}-based stack capture against {@link StackWalker}-based capture of the top 20 frames, at
+ * different stack depths. Both variants materialize the stack trace, as any consumer of it would. Optionally processed
+ * stack traces are {@link StackTraces#enableCache(int) cached}, since every invocation uses the same call path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackCaptureBenchmark {
+
+    @Param({"10", "150"})
+    public int depth;
+
+    @Param({"throwable", "walker"})
+    public String capture;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("walker".equals(capture)) {
+            StackTraces.useStackWalker(20, "java.", "jdk.", "org.openjdk.jmh.");
+        } else {
+            StackTraces.useThrowable();
+        }
+
+        if (cached) {
+            StackTraces.enableCache(64);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StackTraces.useThrowable();
+        StackTraces.disableCache();
+    }
+
+    @Benchmark
+    public StackTraceElement[] capture() {
+        return recurse(depth).getStackTrace();
+    }
+
+    private static ThrowableProblem recurse(final int remaining) {
+        if (remaining == 0) {
+            return Problem.builder()
+                    .withTitle("Bad Request")
+                    .withStatus(BAD_REQUEST)
+                    .build();
+        }
+        return recurse(remaining - 1);
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ThrowableProblem;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Compares the cost of creating a problem with and without capturing a stack trace.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackTraceBenchmark {
+
+    private final URI type = URI.create("https://example.org/out-of-stock");
+
+    @Benchmark
+    public ThrowableProblem withStackTrace() {
+        return Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .build();
+    }
+
+    @Benchmark
+    public ThrowableProblem withoutStackTrace() {
+        return Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+    }
+
+}
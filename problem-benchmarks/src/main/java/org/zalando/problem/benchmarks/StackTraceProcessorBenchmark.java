@@ -0,0 +1,71 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.spi.PrefixStackTraceProcessor;
+import org.zalando.problem.spi.StackTraceProcessor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares a chain of stream-based processors, each dropping frames of one package, with a single compiled
+ * {@link PrefixStackTraceProcessor}, which is what adjacent prefix processors get combined into.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackTraceProcessorBenchmark {
+
+    private static final String[] PREFIXES = {
+            "org.springframework.", "org.apache.catalina.", "org.apache.tomcat.", "jdk.internal.reflect.",
+            "java.lang.reflect.", "sun.reflect."
+    };
+
+    private final StackTraceElement[] stackTrace = Stream.of(
+            "org.zalando.shop.OrderService", "jdk.internal.reflect.NativeMethodAccessorImpl",
+            "java.lang.reflect.Method", "org.springframework.aop.framework.ReflectiveMethodInvocation",
+            "org.springframework.web.servlet.DispatcherServlet", "org.apache.catalina.core.ApplicationFilterChain",
+            "org.zalando.shop.OrderController", "org.apache.tomcat.util.net.NioEndpoint", "java.lang.Thread")
+            .flatMap(className -> Stream.of(className, className, className, className, className))
+            .map(className -> new StackTraceElement(className, "invoke", null, -1))
+            .toArray(StackTraceElement[]::new);
+
+    private final StackTraceProcessor streams = Arrays.stream(PREFIXES)
+            .map(StackTraceProcessorBenchmark::streamProcessor)
+            .reduce(StackTraceProcessor.DEFAULT,
+                    (first, second) -> elements -> second.process(first.process(elements)));
+
+    private final StackTraceProcessor compiled = new PrefixStackTraceProcessor(PREFIXES);
+
+    private static StackTraceProcessor streamProcessor(final String prefix) {
+        return elements -> elements.stream()
+                .filter(element -> !element.getClassName().startsWith(prefix))
+                .collect(toList());
+    }
+
+    @Benchmark
+    public Collection<StackTraceElement> streams() {
+        return streams.process(Arrays.asList(stackTrace));
+    }
+
+    @Benchmark
+    public StackTraceElement[] compiled() {
+        return compiled.process(stackTrace.clone());
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.spi.PrefixStackTraceProcessor;
+import org.zalando.problem.spi.StackTraceProcessors;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Measures the time to the first processed problem in a fresh JVM, i.e. including class loading and the discovery of
+ * {@link org.zalando.problem.spi.StackTraceProcessor stack trace processors}, which is what the first request of e.g.
+ * a serverless function pays for. Processors are either discovered lazily, discovered eagerly during startup, or
+ * configured programmatically during startup. Every fork contributes exactly one sample, hence the number of forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"lazy", "eager", "programmatic"})
+    public String initialization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("eager".equals(initialization)) {
+            StackTraceProcessors.initialize();
+        } else if ("programmatic".equals(initialization)) {
+            StackTraceProcessors.initialize(new PrefixStackTraceProcessor("org.openjdk.jmh.", "jdk.internal."));
+        }
+    }
+
+    @Benchmark
+    public StackTraceElement[] firstProblem() {
+        return Problem.builder()
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .build()
+                .getStackTrace();
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.zalando.problem.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import org.zalando.problem.ThrowableProblem;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.zalando.problem.Status.NOT_FOUND;
+
+/**
+ * Measures the static factories, i.e. {@link Problem#valueOf(org.zalando.problem.StatusType) valueOf}, including the
+ * status lookup by code that deserializers perform for every problem.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueOfBenchmark {
+
+    private final URI instance = URI.create("https://example.org/orders/1a7c9e3f");
+
+    private int code = NOT_FOUND.getStatusCode();
+
+    @Benchmark
+    public ThrowableProblem status() {
+        return Problem.valueOf(NOT_FOUND);
+    }
+
+    @Benchmark
+    public ThrowableProblem statusAndDetail() {
+        return Problem.valueOf(NOT_FOUND, "Order 1a7c9e3f does not exist");
+    }
+
+    @Benchmark
+    public ThrowableProblem statusAndInstance() {
+        return Problem.valueOf(NOT_FOUND, instance);
+    }
+
+    @Benchmark
+    public Status statusCode() {
+        return Status.valueOf(code);
+    }
+
+}
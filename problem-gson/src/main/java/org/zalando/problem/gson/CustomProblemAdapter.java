@@ -1,31 +1,104 @@
 package org.zalando.problem.gson;
 
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import com.google.gson.TypeAdapter;
-import com.google.gson.internal.Streams;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
-import lombok.AllArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Exceptional;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StackTraceStrings;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Collections.singletonList;
 
-@AllArgsConstructor
+/**
+ * Writes custom problems, i.e. anything but default problems, along a {@link Plan plan} of their fields, which is
+ * computed once per class. Fields are selected, named and ordered the same way as by Gson's reflective adapter, but
+ * the fields of {@link Throwable} are never accessed: the cause is taken from {@link Throwable#getCause()} and the
+ * stack trace is only rendered if requested. Classes that rely on {@link JsonAdapter custom adapters} or declare
+ * conflicting names are written by the reflective delegate and rearranged afterwards. Reading is always up to the
+ * delegate.
+ *
+ * <p>Only public API of Gson is used. Since Gson doesn't expose its exclusion settings, e.g. modifiers, versions or
+ * exclusion strategies, an {@link Observer observing} copy of it tells which fields it would write.</p>
+ */
 final class CustomProblemAdapter<T> extends TypeAdapter<T> {
 
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
     private final Gson gson;
-    private final TypeAdapter<T> delegate;
+    private final TypeAdapterFactory skipPast;
+    private final TypeToken<T> type;
     private final boolean stackTraces;
+    private final boolean fingerprints;
+    private final TypeAdapter<Object> values;
+
+    // both are resolved on first use, since writing doesn't need the delegate and reading doesn't need the plan
+    @Nullable
+    private volatile TypeAdapter<T> delegate;
+    @Nullable
+    private volatile Plan plan;
+
+    CustomProblemAdapter(final Gson gson, final TypeAdapterFactory skipPast, final TypeToken<T> type,
+            final boolean stackTraces, final boolean fingerprints) {
+        this.gson = gson;
+        this.skipPast = skipPast;
+        this.type = type;
+        this.stackTraces = stackTraces;
+        this.fingerprints = fingerprints;
+        this.values = gson.getAdapter(Object.class);
+    }
 
     @Override
     public void write(final JsonWriter out, final T value) throws IOException {
-        final JsonElement element = delegate.toJsonTree(value);
+        @Nullable Plan plan = this.plan;
+
+        if (plan == null) {
+            plan = plan();
+            this.plan = plan;
+        }
+
+        if (plan == Plan.NONE) {
+            writeTree(out, value);
+        } else {
+            write(out, value, plan);
+        }
+    }
+
+    private void writeTree(final JsonWriter out, final T value) throws IOException {
+        final JsonElement element = delegate().toJsonTree(value);
         final JsonObject object = element.getAsJsonObject();
 
         final URI problemType = URITypeAdapter.TYPE.fromJsonTree(object.remove("type"));
@@ -44,12 +117,16 @@ final class CustomProblemAdapter<T> extends TypeAdapter<T> {
             if (stackTraces) {
                 object.add("stacktrace", gson.getAdapter(String[].class)
                         .toJsonTree(stream(((Throwable) value).getStackTrace())
-                                .map(Object::toString)
+                                .map(StackTraceStrings::toString)
                                 .toArray(String[]::new)));
             }
         }
 
-        Streams.write(element, out);
+        if (fingerprints && value instanceof Exceptional) {
+            object.addProperty("fingerprint", Fingerprints.toString(((Exceptional) value).fingerprint()));
+        }
+
+        gson.getAdapter(JsonElement.class).write(out, element);
     }
 
     private void flattenParameters(final JsonObject object) {
@@ -59,9 +136,318 @@ final class CustomProblemAdapter<T> extends TypeAdapter<T> {
                         object.add(e.getKey(), e.getValue())));
     }
 
+    /**
+     * Writes the planned fields in the order of the reflective adapter, followed by those that are derived from the
+     * problem: its cause, its type, its parameters, its stack trace and its fingerprint.
+     */
+    private void write(final JsonWriter out, final Object problem, final Plan plan) throws IOException {
+        out.beginObject();
+
+        for (final Member member : plan.members) {
+            member.write(out, problem);
+        }
+
+        if (plan.cause != null) {
+            @Nullable final Throwable throwable = ((Throwable) problem).getCause();
+
+            if (throwable == null) {
+                out.name(plan.cause).nullValue();
+            } else {
+                runtime(gson, throwable.getClass()).write(out.name(plan.cause), throwable);
+            }
+        }
+
+        URITypeAdapter.TYPE.write(out.name("type"), ((Problem) problem).getType());
+
+        if (plan.parameters != null) {
+            @Nullable final Map<?, ?> map = (Map<?, ?>) plan.parameters.get(problem);
+
+            if (map != null) {
+                for (final Map.Entry<?, ?> parameter : map.entrySet()) {
+                    // same keys as the map adapter
+                    values.write(out.name(String.valueOf(parameter.getKey())), parameter.getValue());
+                }
+            }
+        }
+
+        if (stackTraces && problem instanceof Throwable) {
+            out.name("stacktrace").beginArray();
+            for (final StackTraceElement element : ((Throwable) problem).getStackTrace()) {
+                out.value(StackTraceStrings.toString(element));
+            }
+            out.endArray();
+        }
+
+        if (fingerprints && problem instanceof Exceptional) {
+            out.name("fingerprint").value(Fingerprints.toString(((Exceptional) problem).fingerprint()));
+        }
+
+        out.endObject();
+    }
+
     @Override
     public T read(final JsonReader in) throws IOException {
-        return delegate.read(in);
+        return delegate().read(in);
+    }
+
+    private TypeAdapter<T> delegate() {
+        @Nullable TypeAdapter<T> delegate = this.delegate;
+
+        if (delegate == null) {
+            delegate = gson.getDelegateAdapter(skipPast, type);
+            this.delegate = delegate;
+        }
+
+        return delegate;
+    }
+
+    /**
+     * Walks the class hierarchy the same way as Gson's reflective adapter, up to but excluding {@link Throwable}.
+     *
+     * @return the plan of this adapter's type, or {@link Plan#NONE} if it can't be written without the delegate
+     */
+    private Plan plan() {
+        final Class<? super T> raw = type.getRawType();
+
+        if (raw.isAnnotationPresent(JsonAdapter.class)) {
+            return Plan.NONE;
+        }
+
+        final Observer serialization = new Observer();
+        final Observer deserialization = new Observer();
+        serialization.observe(gson, deserialization).getDelegateAdapter(skipPast, type);
+
+        final boolean flatten = AbstractThrowableProblem.class.isAssignableFrom(raw);
+        final Set<String> names = new HashSet<>();
+        final List<Member> members = new ArrayList<>();
+        @Nullable Member parameters = null;
+
+        Class<?> current = raw;
+
+        while (current != Object.class && current != Throwable.class) {
+            for (final Field field : current.getDeclaredFields()) {
+                final boolean serialize = serialization.includes(field);
+
+                if (!serialize && !deserialization.includes(field)) {
+                    continue;
+                }
+
+                if (field.isAnnotationPresent(JsonAdapter.class)) {
+                    return Plan.NONE;
+                }
+
+                final List<String> fieldNames = names(field);
+
+                for (final String name : fieldNames) {
+                    if (!names.add(name)) {
+                        // the delegate fails the same way as the reflective adapter
+                        return Plan.NONE;
+                    }
+                }
+
+                final String name = fieldNames.get(0);
+
+                if (!serialize || "type".equals(name)) {
+                    // the type is taken from the problem itself
+                    continue;
+                }
+
+                final Member member = new Member(gson, name, field);
+
+                if (flatten && "parameters".equals(name)) {
+                    parameters = member;
+                } else {
+                    members.add(member);
+                }
+            }
+
+            current = current.getSuperclass();
+        }
+
+        @Nullable String cause = null;
+
+        if (current == Throwable.class) {
+            for (final Field field : Throwable.class.getDeclaredFields()) {
+                // only looked at, never accessed
+                if ("cause".equals(field.getName()) && serialization.includes(field)) {
+                    cause = names(field).get(0);
+
+                    if (!names.add(cause)) {
+                        return Plan.NONE;
+                    }
+                }
+            }
+        }
+
+        return new Plan(members, cause, parameters);
+    }
+
+    private List<String> names(final Field field) {
+        @Nullable final SerializedName annotation = field.getAnnotation(SerializedName.class);
+
+        if (annotation == null) {
+            return singletonList(gson.fieldNamingStrategy().translateName(field));
+        }
+
+        final List<String> names = new ArrayList<>(annotation.alternate().length + 1);
+        names.add(annotation.value());
+        names.addAll(asList(annotation.alternate()));
+        return names;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeAdapter<Object> runtime(final Gson gson, final Class<?> type) {
+        return (TypeAdapter<Object>) gson.getAdapter(type);
+    }
+
+    /**
+     * @return whether Gson writes the given type reflectively, i.e. whether it looks at its fields to create an adapter
+     */
+    private static boolean isReflective(final Gson gson, final Class<?> type) {
+        final Observer serialization = new Observer();
+        serialization.observe(gson, new Observer()).getAdapter(type);
+        return serialization.declares(type);
+    }
+
+    static MethodHandle getter(final Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER);
+        } catch (final IllegalAccessException e) {
+            throw new JsonIOException("Unable to access " + field, e);
+        }
+    }
+
+    /**
+     * Exclusion strategies that are added last are only asked about fields that neither Gson's own settings nor any
+     * other strategy excluded, i.e. the fields that Gson would write or read. Observed fields are excluded, which
+     * prevents the observing copy of Gson from ever accessing them.
+     */
+    private static final class Observer implements ExclusionStrategy {
+
+        private final Map<Class<?>, Set<String>> fields = new HashMap<>();
+
+        /**
+         * @param deserialization the observer of fields that would be read
+         * @return a copy of the given Gson that is observed by this for writing and by the given observer for reading
+         */
+        Gson observe(final Gson gson, final Observer deserialization) {
+            return gson.newBuilder()
+                    .addSerializationExclusionStrategy(this)
+                    .addDeserializationExclusionStrategy(deserialization)
+                    .create();
+        }
+
+        @Override
+        public boolean shouldSkipField(final FieldAttributes field) {
+            fields.computeIfAbsent(field.getDeclaringClass(), declaring -> new HashSet<>()).add(field.getName());
+            return true;
+        }
+
+        @Override
+        public boolean shouldSkipClass(final Class<?> type) {
+            return false;
+        }
+
+        boolean includes(final Field field) {
+            return fields.getOrDefault(field.getDeclaringClass(), Collections.emptySet()).contains(field.getName());
+        }
+
+        /**
+         * @return whether any observed field is declared by the given type or one of its super classes
+         */
+        boolean declares(final Class<?> type) {
+            return fields.keySet().stream().anyMatch(declaring -> declaring.isAssignableFrom(type));
+        }
+
+    }
+
+    private static final class Plan {
+
+        /**
+         * Used for classes that can't be written without the reflective delegate.
+         */
+        static final Plan NONE = new Plan(Collections.emptyList(), null, null);
+
+        private final List<Member> members;
+
+        @Nullable
+        private final String cause;
+
+        @Nullable
+        private final Member parameters;
+
+        private Plan(final List<Member> members, @Nullable final String cause, @Nullable final Member parameters) {
+            this.members = members;
+            this.cause = cause;
+            this.parameters = parameters;
+        }
+
+    }
+
+    private static final class Member {
+
+        private final Gson gson;
+        private final String name;
+        private final MethodHandle getter;
+        private final Type type;
+        private final TypeAdapter<Object> adapter;
+
+        /**
+         * Adapters by runtime type, since telling which one to use is expensive.
+         */
+        private final ConcurrentMap<Class<?>, TypeAdapter<Object>> runtimes = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private Member(final Gson gson, final String name, final Field field) {
+            field.setAccessible(true);
+            this.gson = gson;
+            this.name = name;
+            this.getter = getter(field);
+            this.type = field.getGenericType();
+            this.adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(type));
+        }
+
+        @Nullable
+        Object get(final Object problem) {
+            try {
+                return (Object) getter.invokeExact(problem);
+            } catch (final Throwable e) {
+                throw new JsonIOException("Unable to read " + name + " of " + problem.getClass(), e);
+            }
+        }
+
+        void write(final JsonWriter out, final Object problem) throws IOException {
+            @Nullable final Object value = get(problem);
+
+            if (value == problem) {
+                // same as the reflective adapter, e.g. a cause that is the problem itself
+                return;
+            }
+
+            adapter(value).write(out.name(name), value);
+        }
+
+        private TypeAdapter<Object> adapter(@Nullable final Object value) {
+            if (value == null || value.getClass() == type
+                    || !(type == Object.class || type instanceof TypeVariable<?> || type instanceof Class<?>)) {
+                return adapter;
+            }
+
+            return runtimes.computeIfAbsent(value.getClass(), this::adapter);
+        }
+
+        /**
+         * Prefers the adapter of the runtime type the same way as Gson's reflective adapter, i.e. unless the runtime
+         * type would be written reflectively while the declared type wouldn't.
+         */
+        private TypeAdapter<Object> adapter(final Class<?> runtime) {
+            if (isReflective(gson, runtime) && !isReflective(gson, TypeToken.get(type).getRawType())) {
+                return adapter;
+            }
+
+            return runtime(gson, runtime);
+        }
+
     }
 
 }
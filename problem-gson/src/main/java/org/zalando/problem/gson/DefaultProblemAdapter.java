@@ -1,79 +1,123 @@
 package org.zalando.problem.gson;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import lombok.AllArgsConstructor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Fingerprints;
 import org.zalando.problem.Problem;
 import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.StackTraceStrings;
 import org.zalando.problem.StatusType;
 import org.zalando.problem.ThrowableProblem;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.gson.internal.bind.TypeAdapters.STRING;
 import static com.google.gson.internal.bind.TypeAdapters.URI;
-import static java.util.Arrays.stream;
 import static lombok.AccessLevel.PRIVATE;
 
 @AllArgsConstructor(access = PRIVATE)
 final class DefaultProblemAdapter extends TypeAdapter<ThrowableProblem> {
 
+    static final Set<String> MEMBERS = new HashSet<>(Arrays.asList(
+            "type", "title", "status", "detail", "instance", "cause"));
+
     private final Gson gson;
     private final boolean stackTraces;
+    private final boolean fingerprints;
     private final TypeAdapter<java.net.URI> type = URITypeAdapter.TYPE;
-    private final TypeAdapter<Map<String, Object>> parameters;
+    private final TypeAdapter<Object> values;
     private final TypeAdapter<StatusType> status;
     private final TypeAdapter<ThrowableProblem> cause;
+    private final Map<String, TypeAdapter<?>> parameters;
 
-    DefaultProblemAdapter(final Gson gson, final boolean stackTraces) {
+    DefaultProblemAdapter(final Gson gson, final boolean stackTraces, final boolean fingerprints,
+            final Map<String, TypeToken<?>> parameters) {
         this(
                 gson,
                 stackTraces,
-                gson.getAdapter(new TypeToken<Map<String, Object>>() {
-                    // nothing to do here
-                }),
+                fingerprints,
+                gson.getAdapter(Object.class),
                 gson.getAdapter(StatusType.class),
-                gson.getAdapter(ThrowableProblem.class).nullSafe());
+                gson.getAdapter(ThrowableProblem.class).nullSafe(),
+                adapters(gson, parameters));
+    }
+
+    private static Map<String, TypeAdapter<?>> adapters(final Gson gson, final Map<String, TypeToken<?>> types) {
+        final Map<String, TypeAdapter<?>> adapters = new HashMap<>(types.size());
+        types.forEach((name, type) -> adapters.put(name, gson.getAdapter(type)));
+        return adapters;
     }
 
+    /**
+     * Writes members straight to the given writer, i.e. without building a tree first. Absent members are written as
+     * {@link JsonWriter#nullValue() null values}, which drops them, unless the writer is configured to
+     * {@link JsonWriter#setSerializeNulls(boolean) serialize nulls}.
+     */
     @Override
     public void write(final JsonWriter out, final ThrowableProblem problem) throws IOException {
-        final JsonObject object = new JsonObject();
+        out.beginObject();
 
-        object.add("type", type.toJsonTree(problem.getType()));
-        object.add("title", STRING.toJsonTree(problem.getTitle()));
-        object.add("status", status.toJsonTree(problem.getStatus()));
-        object.add("detail", STRING.toJsonTree(problem.getDetail()));
-        object.add("instance", URI.toJsonTree(problem.getInstance()));
-        object.add("cause", cause.toJsonTree(problem.getCause()));
+        type.write(out.name("type"), problem.getType());
+        STRING.write(out.name("title"), problem.getTitle());
+        status.write(out.name("status"), problem.getStatus());
+        STRING.write(out.name("detail"), problem.getDetail());
+        URI.write(out.name("instance"), problem.getInstance());
+        cause.write(out.name("cause"), problem.getCause());
 
-        parameters.toJsonTree(problem.getParameters()).getAsJsonObject()
-                .entrySet().forEach(entry ->
-                object.add(entry.getKey(), entry.getValue()));
+        for (final Map.Entry<String, Object> parameter : problem.getParameters().entrySet()) {
+            // same as the map adapter
+            values.write(out.name(String.valueOf(parameter.getKey())), parameter.getValue());
+        }
 
         if (stackTraces) {
-            object.add("stacktrace", gson.getAdapter(String[].class)
-                    .toJsonTree(stream(problem.getStackTrace())
-                            .map(Object::toString)
-                            .toArray(String[]::new)));
+            out.name("stacktrace").beginArray();
+            for (final StackTraceElement element : problem.getStackTrace()) {
+                out.value(StackTraceStrings.toString(element));
+            }
+            out.endArray();
+        }
+
+        if (fingerprints) {
+            out.name("fingerprint").value(Fingerprints.toString(problem.fingerprint()));
         }
 
-        gson.getAdapter(JsonElement.class).write(out, object);
+        out.endObject();
     }
 
     @Override
     public ThrowableProblem read(final JsonReader in) throws IOException {
-        final ProblemBuilder builder = Problem.builder();
-
         in.beginObject();
+        return read(in, Problem.builder());
+    }
+
+    /**
+     * Reads the remaining members of an object that was begun already, e.g. by a caller that had to look at the
+     * problem's type first.
+     *
+     * @param in the reader, positioned inside of the problem's object
+     * @param builder the builder, which holds any members that were read already
+     * @return the problem
+     */
+    ThrowableProblem read(final JsonReader in, final ProblemBuilder builder) throws IOException {
         while (in.hasNext()) {
             final String name = in.nextName();
+
+            if (fingerprints && "fingerprint".equals(name)) {
+                // derived from the problem itself
+                in.skipValue();
+                continue;
+            }
+
             switch (name) {
                 case "type":
                     builder.withType(URITypeAdapter.TYPE.read(in));
@@ -94,7 +138,7 @@ final class DefaultProblemAdapter extends TypeAdapter<ThrowableProblem> {
                     builder.withCause(cause.read(in));
                     break;
                 default:
-                    builder.with(name, gson.fromJson(in, Object.class));
+                    builder.with(name, parameter(in, name));
                     break;
             }
         }
@@ -103,4 +147,10 @@ final class DefaultProblemAdapter extends TypeAdapter<ThrowableProblem> {
         return builder.build();
     }
 
+    @Nullable
+    private Object parameter(final JsonReader in, final String name) throws IOException {
+        @Nullable final TypeAdapter<?> adapter = parameters.get(name);
+        return adapter == null ? gson.fromJson(in, Object.class) : adapter.read(in);
+    }
+
 }
@@ -0,0 +1,34 @@
+package org.zalando.problem.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import lombok.AllArgsConstructor;
+import org.zalando.problem.Problem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+
+/**
+ * Notifies a {@link ProblemListener} before writing and after reading problems.
+ */
+@AllArgsConstructor
+final class ListeningAdapter<T> extends TypeAdapter<T> {
+
+    private final TypeAdapter<T> delegate;
+    private final ProblemListener listener;
+
+    @Override
+    public void write(final JsonWriter out, final T value) throws IOException {
+        listener.onSerialize((Problem) value);
+        delegate.write(out, value);
+    }
+
+    @Override
+    public T read(final JsonReader in) throws IOException {
+        final T value = delegate.read(in);
+        listener.onDeserialize((Problem) value);
+        return value;
+    }
+
+}
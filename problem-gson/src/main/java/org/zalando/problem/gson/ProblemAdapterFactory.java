@@ -3,6 +3,7 @@ package org.zalando.problem.gson;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.Streams;
@@ -15,8 +16,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.zalando.problem.DefaultProblem;
 import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
+import org.zalando.problem.StatusRegistry;
 import org.zalando.problem.StatusType;
-import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+import org.zalando.problem.spi.ProblemListeners;
 
 import java.io.IOException;
 import java.net.URI;
@@ -24,6 +27,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Objects.requireNonNull;
 import static lombok.AccessLevel.PRIVATE;
@@ -37,8 +42,11 @@ import static org.zalando.problem.gson.URITypeAdapter.TYPE;
 public final class ProblemAdapterFactory implements TypeAdapterFactory {
 
     private final boolean stackTraces;
+    private final boolean fingerprints;
     private final Map<URI, TypeToken<? extends Problem>> subtypes;
+    private final Map<String, TypeToken<?>> parameters;
     private final StatusTypeAdapter statusAdapter;
+    private final ProblemListener listener;
 
     public ProblemAdapterFactory() {
         this(Status.class);
@@ -48,44 +56,53 @@ public final class ProblemAdapterFactory implements TypeAdapterFactory {
     public <E extends Enum<?> & StatusType> ProblemAdapterFactory(
             final Class<? extends E>... statusTypes) {
         this(false,
-                new StatusTypeAdapter(buildIndex(statusTypes)),
-                Collections.emptyMap());
+                false,
+                new StatusTypeAdapter(StatusRegistry.of(statusTypes)),
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                ProblemListeners.current());
     }
 
     private ProblemAdapterFactory(
             final boolean stackTraces,
+            final boolean fingerprints,
             final StatusTypeAdapter statusAdapter,
-            final Map<URI, TypeToken<? extends Problem>> subtypes) {
+            final Map<URI, TypeToken<? extends Problem>> subtypes,
+            final Map<String, TypeToken<?>> parameters,
+            final ProblemListener listener) {
         this.stackTraces = stackTraces;
+        this.fingerprints = fingerprints;
         this.statusAdapter = statusAdapter;
         this.subtypes = Collections.unmodifiableMap(subtypes);
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.listener = listener;
     }
 
-    @SafeVarargs
-    private static <E extends Enum<?> & StatusType> Map<Integer, StatusType> buildIndex(
-            final Class<? extends E>... types) {
-
-        final Map<Integer, StatusType> index = new HashMap<>();
+    public ProblemAdapterFactory withStackTraces() {
+        return withStackTraces(true);
+    }
 
-        for (final Class<? extends E> type : types) {
-            for (final E status : type.getEnumConstants()) {
-                if (index.containsKey(status.getStatusCode())) {
-                    throw new IllegalArgumentException(
-                            "Duplicate status codes are not allowed");
-                }
-                index.put(status.getStatusCode(), status);
-            }
-        }
+    public ProblemAdapterFactory withStackTraces(final boolean stackTraces) {
+        return new ProblemAdapterFactory(stackTraces, fingerprints, statusAdapter, subtypes, parameters, listener);
+    }
 
-        return Collections.unmodifiableMap(index);
+    /**
+     * Emits the {@link org.zalando.problem.Exceptional#fingerprint() fingerprint} of exceptional problems as a
+     * {@code "fingerprint"} member, rendered as {@link org.zalando.problem.Fingerprints#toString(long) hex string}.
+     * It's ignored when reading, since it's derived from the problem itself.
+     *
+     * @return a copy of this factory that emits fingerprints
+     */
+    public ProblemAdapterFactory withFingerprints() {
+        return withFingerprints(true);
     }
 
-    public ProblemAdapterFactory withStackTraces() {
-        return withStackTraces(true);
+    public ProblemAdapterFactory withFingerprints(final boolean fingerprints) {
+        return new ProblemAdapterFactory(stackTraces, fingerprints, statusAdapter, subtypes, parameters, listener);
     }
 
-    public ProblemAdapterFactory withStackTraces(final boolean stackTraces) {
-        return new ProblemAdapterFactory(stackTraces, statusAdapter, subtypes);
+    ProblemAdapterFactory withListener(final ProblemListener listener) {
+        return new ProblemAdapterFactory(stackTraces, fingerprints, statusAdapter, subtypes, parameters, listener);
     }
 
     // TODO @CheckReturnValue
@@ -108,10 +125,51 @@ public final class ProblemAdapterFactory implements TypeAdapterFactory {
 
         final Map<URI, TypeToken<? extends Problem>> map = new HashMap<>(subtypes);
         map.put(uri, type);
-        return new ProblemAdapterFactory(stackTraces, statusAdapter, map);
+        return new ProblemAdapterFactory(stackTraces, fingerprints, statusAdapter, map, parameters, listener);
 
     }
 
+    /**
+     * Registers the type of a parameter, i.e. an extension member, of {@link DefaultProblem default problems}.
+     * Registered parameters are read straight into the given type, e.g. a {@link java.math.BigDecimal}, rather than
+     * into whatever represents arbitrary JSON, i.e. {@link Double doubles} and
+     * {@link com.google.gson.internal.LinkedTreeMap maps}. Parameters that are not registered are read as before.
+     *
+     * @param name the name of the parameter
+     * @param type the type to read the parameter into
+     * @return a copy of this factory that reads the given parameter into the given type
+     * @throws IllegalArgumentException if the name is one of the standard members or if there is a type registered
+     *                                  for the given name already
+     */
+    public ProblemAdapterFactory registerParameter(final String name, final Class<?> type) {
+        return registerParameter(name, TypeToken.get(type));
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param type the type to read the parameter into, e.g. a {@link java.util.List list} of typed elements
+     * @return a copy of this factory that reads the given parameter into the given type
+     * @throws IllegalArgumentException if the name is one of the standard members or if there is a type registered
+     *                                  for the given name already
+     * @see #registerParameter(String, Class)
+     */
+    public ProblemAdapterFactory registerParameter(final String name, final TypeToken<?> type) {
+        requireNonNull(name, "Name");
+        requireNonNull(type, "Type");
+
+        if (DefaultProblemAdapter.MEMBERS.contains(name)) {
+            throw new IllegalArgumentException(name + " is not a parameter");
+        }
+
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter " + name + " is already registered");
+        }
+
+        final Map<String, TypeToken<?>> map = new HashMap<>(parameters);
+        map.put(name, type);
+        return new ProblemAdapterFactory(stackTraces, fingerprints, statusAdapter, subtypes, map, listener);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
@@ -125,18 +183,31 @@ public final class ProblemAdapterFactory implements TypeAdapterFactory {
             return null;
         }
 
-        return new ProblemTypeAdapter<T>(gson, type).nullSafe();
+        final TypeAdapter<T> adapter = new ProblemTypeAdapter<>(gson, type);
+
+        if (listener == ProblemListener.DEFAULT) {
+            return adapter.nullSafe();
+        }
+
+        return new ListeningAdapter<>(adapter, listener).nullSafe();
     }
 
+    /**
+     * Selects the adapter of the concrete problem class when writing and of the registered subtype when reading. Custom
+     * adapters are resolved once per class and type, respectively, and cached by this adapter, i.e. per requested type.
+     */
     @AllArgsConstructor(access = PRIVATE)
     private final class ProblemTypeAdapter<T> extends TypeAdapter<T> {
 
         private final Gson gson;
         private final TypeToken<T> type;
-        private final TypeAdapter<ThrowableProblem> defaultAdapter;
+        private final DefaultProblemAdapter defaultAdapter;
+        private final ConcurrentMap<Class<?>, TypeAdapter<T>> writers;
+        private final ConcurrentMap<URI, TypeAdapter<T>> readers;
 
         ProblemTypeAdapter(final Gson gson, final TypeToken<T> type) {
-            this(gson, type, new DefaultProblemAdapter(gson, stackTraces));
+            this(gson, type, new DefaultProblemAdapter(gson, stackTraces, fingerprints, parameters),
+                    new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
         }
 
         @Override
@@ -149,31 +220,85 @@ public final class ProblemAdapterFactory implements TypeAdapterFactory {
         private TypeAdapter<T> selectAdapter(final T value) {
             if (value instanceof DefaultProblem) {
                 return (TypeAdapter<T>) defaultAdapter;
-            } else {
-                final Class<T> valueType = (Class<T>) value.getClass();
-                return createCustomAdapter(gson, TypeToken.get(valueType));
             }
+
+            final Class<?> valueType = value.getClass();
+            @Nullable final TypeAdapter<T> adapter = writers.get(valueType);
+            return adapter == null ? writers.computeIfAbsent(valueType, this::createClassAdapter) : adapter;
         }
 
-        @Override
-        public T read(final JsonReader in) {
-            final JsonElement element = Streams.parse(in);
-            final JsonObject problem = element.getAsJsonObject();
-            return selectAdapter(problem).fromJsonTree(element);
+        @SuppressWarnings("unchecked")
+        private TypeAdapter<T> createClassAdapter(final Class<?> valueType) {
+            return createCustomAdapter(gson, (TypeToken<T>) TypeToken.get(valueType));
         }
 
+        /**
+         * Streams default problems straight into the default adapter if there are no subtypes or if the type comes
+         * first. Only problems of a registered subtype and problems that don't start with their type are read into a
+         * tree first.
+         */
+        @Override
         @SuppressWarnings("unchecked")
+        public T read(final JsonReader in) throws IOException {
+            if (subtypes.isEmpty()) {
+                return (T) defaultAdapter.read(in);
+            }
+
+            in.beginObject();
+
+            if (!in.hasNext()) {
+                return (T) defaultAdapter.read(in, Problem.builder());
+            }
+
+            final String name = in.nextName();
+            @Nullable final TypeAdapter<T> adapter;
+            final JsonElement value;
+
+            if ("type".equals(name)) {
+                final URI type = TYPE.read(in);
+                adapter = selectAdapter(type);
+
+                if (adapter == defaultAdapter) {
+                    return (T) defaultAdapter.read(in, Problem.builder().withType(type));
+                }
+
+                value = new JsonPrimitive(type.toString());
+            } else {
+                adapter = null;
+                value = Streams.parse(in);
+            }
+
+            final JsonObject problem = new JsonObject();
+            problem.add(name, value);
+
+            while (in.hasNext()) {
+                problem.add(in.nextName(), Streams.parse(in));
+            }
+            in.endObject();
+
+            return (adapter == null ? selectAdapter(problem) : adapter).fromJsonTree(problem);
+        }
+
         private TypeAdapter<T> selectAdapter(final JsonObject problem) {
-            @Nullable final TypeToken<? extends Problem> subType =
-                    Optional.ofNullable(problem.get("type"))
-                            .map(TYPE::fromJsonTree)
-                            .map(subtypes::get)
-                            .orElse(null);
+            return selectAdapter(Optional.ofNullable(problem.get("type"))
+                    .map(TYPE::fromJsonTree)
+                    .orElse(null));
+        }
 
-            if (subType == null) {
+        @SuppressWarnings("unchecked")
+        private TypeAdapter<T> selectAdapter(@Nullable final URI type) {
+            if (type == null || !subtypes.containsKey(type)) {
                 return (TypeAdapter<T>) defaultAdapter;
             }
 
+            @Nullable final TypeAdapter<T> adapter = readers.get(type);
+            return adapter == null ? readers.computeIfAbsent(type, this::createSubtypeAdapter) : adapter;
+        }
+
+        @SuppressWarnings("unchecked")
+        private TypeAdapter<T> createSubtypeAdapter(final URI uri) {
+            final TypeToken<? extends Problem> subType = subtypes.get(uri);
+
             final TypeToken<T> typeClass =
                     (type.getRawType().isAssignableFrom(subType.getRawType()) ?
                             (TypeToken<T>) subType :
@@ -185,12 +310,7 @@ public final class ProblemAdapterFactory implements TypeAdapterFactory {
         private TypeAdapter<T> createCustomAdapter(
                 final Gson gson, final TypeToken<T> type) {
 
-            return new CustomProblemAdapter<>(
-                    gson,
-                    gson.getDelegateAdapter(
-                            ProblemAdapterFactory.this,
-                            type),
-                    stackTraces);
+            return new CustomProblemAdapter<>(gson, ProblemAdapterFactory.this, type, stackTraces, fingerprints);
         }
 
     }
@@ -0,0 +1,78 @@
+package org.zalando.problem.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ThrowableProblem;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+/**
+ * Fails if serializing problems allocates more bytes per operation than budgeted. The budget leaves some headroom over
+ * what was measured when it was set, so that only real regressions fail. Lower it whenever an optimization allows to.
+ */
+final class AllocationBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final long BUDGET = 2_048L;
+
+    private static final ThrowableProblem PROBLEM = Problem.builder()
+            .withType(URI.create("https://example.org/out-of-stock"))
+            .withTitle("Out of Stock")
+            .withStatus(BAD_REQUEST)
+            .withDetail("Item B00027Y5QG is no longer available")
+            .withoutStackTrace()
+            .with("product", "B00027Y5QG")
+            .with("quantity", 3)
+            .with("warehouse", "FRA")
+            .build();
+
+    /**
+     * Keeps results reachable, so that allocations can't be optimized away.
+     */
+    private static volatile Object sink;
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ProblemAdapterFactory())
+            .create();
+
+    @Test
+    void shouldStayWithinBudgetForSerializingDefaultProblem() {
+        assertThat(allocatedBytesPerOperation(() -> gson.toJson(PROBLEM)), lessThanOrEqualTo(BUDGET));
+    }
+
+    private static long allocatedBytesPerOperation(final Operation operation) {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation measurement is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int iteration = 0; iteration < WARMUP; iteration++) {
+            sink = operation.run();
+        }
+
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            sink = operation.run();
+        }
+
+        return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run();
+    }
+
+}
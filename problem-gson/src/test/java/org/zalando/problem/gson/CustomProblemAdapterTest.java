@@ -0,0 +1,493 @@
+package org.zalando.problem.gson;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.annotations.Since;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import org.zalando.problem.ThrowableProblem;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.jayway.jsonassert.JsonAssert.with;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+final class CustomProblemAdapterTest {
+
+    private final ProblemAdapterFactory factory = new ProblemAdapterFactory();
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(factory)
+            .create();
+
+    @Test
+    void shouldWriteFieldsBeforeTypeAndParameters() {
+        final Problem problem = new InsufficientFundsProblem(10, 100, Collections.singletonMap("foo", "bar"));
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"balance\":10," +
+                "\"debit\":100," +
+                "\"title\":\"Insufficient Funds\"," +
+                "\"status\":400," +
+                "\"type\":\"https://example.org/insufficient-funds\"," +
+                "\"foo\":\"bar\"}"));
+    }
+
+    @Test
+    void shouldWriteNullsIfEnabled() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .serializeNulls()
+                .create();
+
+        final Problem problem = new InsufficientFundsProblem(10, 100, Collections.singletonMap("nil", null));
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"balance\":10," +
+                "\"debit\":100," +
+                "\"title\":\"Insufficient Funds\"," +
+                "\"status\":400," +
+                "\"detail\":null," +
+                "\"instance\":null," +
+                "\"cause\":null," +
+                "\"type\":\"https://example.org/insufficient-funds\"," +
+                "\"nil\":null}"));
+    }
+
+    @Test
+    void shouldWriteNamedFields() {
+        final Problem problem = new MyProblem(URI.create("https://my.org/problem"), "My", BAD_REQUEST, null, null,
+                "misc");
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"title\":\"My\"," +
+                "\"status\":400," +
+                "\"misc\":\"misc\"," +
+                "\"type\":\"https://my.org/problem\"}"));
+    }
+
+    @Test
+    void shouldNotWriteDefaultType() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withStackTraces().withFingerprints())
+                .create();
+
+        assertThat(gson.toJson(new MyProblem(Problem.DEFAULT_TYPE, "My")), is("{\"title\":\"My\"}"));
+    }
+
+    @Test
+    void shouldTakeCauseFromGetter() {
+        final Problem problem = new IOProblem(URI.create("https://example.org/io"), "IO", BAD_REQUEST, null, null);
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"title\":\"IO\"," +
+                "\"status\":400," +
+                "\"type\":\"https://example.org/io\"}"));
+    }
+
+    @Test
+    void shouldWriteCause() {
+        final Problem problem = new CausedProblem(Problem.builder().withTitle("Cause").withoutStackTrace().build());
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"title\":\"Caused\"," +
+                "\"cause\":{\"title\":\"Cause\"}," +
+                "\"type\":\"https://example.org/caused\"}"));
+    }
+
+    @Test
+    void shouldTakeTypeFromGetter() {
+        final Problem problem = new OutOfStockException("Item B00027Y5QG is no longer available");
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+                "\"type\":\"https://example.org/out-of-stock\"}"));
+    }
+
+    @Test
+    void shouldWriteStackTraceAndFingerprint() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withStackTraces().withFingerprints())
+                .create();
+
+        final InsufficientFundsProblem problem = new InsufficientFundsProblem(10, 100);
+
+        with(gson.toJson(problem))
+                .assertThat("$.*", hasSize(7))
+                .assertThat("$.stacktrace[0]", is(problem.getStackTrace()[0].toString()))
+                .assertThat("$.fingerprint", is(Fingerprints.toString(problem.fingerprint())));
+    }
+
+    @Test
+    void shouldWriteMissingParametersAsNone() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory()
+                        .registerSubtype(InsufficientFundsProblem.TYPE, InsufficientFundsProblem.class))
+                .create();
+
+        final Problem problem = gson.fromJson(
+                "{\"type\":\"https://example.org/insufficient-funds\",\"balance\":10,\"debit\":100}", Problem.class);
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"balance\":10," +
+                "\"debit\":100," +
+                "\"type\":\"https://example.org/insufficient-funds\"}"));
+    }
+
+    @Test
+    void shouldPreferRuntimeTypes() {
+        final Problem problem = new RuntimeTypesProblem();
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"object\":{\"name\":\"object\"}," +
+                "\"number\":1.5," +
+                "\"base\":{\"extra\":\"extra\",\"name\":\"base\"}," +
+                "\"string\":\"string\"," +
+                "\"map\":{\"one\":1}," +
+                "\"type\":\"https://example.org/runtime-types\"}"));
+    }
+
+    @Test
+    void shouldPreferDeclaredTypeOverReflectiveRuntimeType() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .registerTypeAdapter(Named.class, new TypeAdapter<Named>() {
+                    @Override
+                    public void write(final JsonWriter out, final Named value) throws IOException {
+                        out.value(value.name);
+                    }
+
+                    @Override
+                    public Named read(final JsonReader in) {
+                        throw new UnsupportedOperationException();
+                    }
+                })
+                .create();
+
+        assertThat(gson.toJson(new RuntimeTypesProblem()), containsString("\"base\":\"base\""));
+    }
+
+    @Test
+    void shouldResolveTypeVariables() {
+        assertThat(gson.toJson(new GenericProblem<>(2)), is("{" +
+                "\"value\":2," +
+                "\"type\":\"https://example.org/generic\"}"));
+        assertThat(gson.toJson(new IntegerProblem(3)), is("{" +
+                "\"value\":3," +
+                "\"type\":\"https://example.org/generic\"}"));
+    }
+
+    @Test
+    void shouldRespectExclusions() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .excludeFieldsWithoutExposeAnnotation()
+                .create();
+
+        assertThat(gson.toJson(new ExposedProblem()), is("{" +
+                "\"shown\":\"shown\"," +
+                "\"type\":\"https://example.org/exposed\"}"));
+    }
+
+    @Test
+    void shouldRespectVersions() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .setVersion(1.0)
+                .create();
+
+        assertThat(gson.toJson(new VersionedProblem()), is("{" +
+                "\"current\":\"current\"," +
+                "\"type\":\"https://example.org/versioned\"}"));
+    }
+
+    @Test
+    void shouldRespectExcludedClasses() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .addSerializationExclusionStrategy(new ExclusionStrategy() {
+                    @Override
+                    public boolean shouldSkipField(final FieldAttributes field) {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean shouldSkipClass(final Class<?> type) {
+                        return type == Map.class;
+                    }
+                })
+                .create();
+
+        with(gson.toJson(new RuntimeTypesProblem()))
+                .assertThat("$.*", hasSize(5))
+                .assertNotDefined("$.map");
+    }
+
+    @Test
+    void shouldNotWriteExcludedCause() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .excludeFieldsWithModifiers(Modifier.STATIC, Modifier.PRIVATE)
+                .serializeNulls()
+                .create();
+
+        assertThat(gson.toJson(new InsufficientFundsProblem(10, 100, Collections.singletonMap("foo", "bar"))),
+                is("{\"type\":\"https://example.org/insufficient-funds\"}"));
+    }
+
+    @Test
+    void shouldFallBackToDelegateForClassAdapter() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withStackTraces().withFingerprints())
+                .create();
+
+        assertThat(gson.toJson(new AdaptedProblem()), is("{" +
+                "\"title\":\"Adapted\"," +
+                "\"type\":\"https://example.org/adapted\"}"));
+    }
+
+    @Test
+    void shouldFallBackToDelegateForFieldAdapter() {
+        final Problem problem = new AdaptedFieldProblem(Collections.singletonMap("foo", "bar"));
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"name\":\"ADAPTED\"," +
+                "\"type\":\"https://example.org/adapted-field\"," +
+                "\"foo\":\"bar\"}"));
+
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withStackTraces().withFingerprints())
+                .create();
+
+        with(gson.toJson(problem))
+                .assertThat("$.*", hasSize(5))
+                .assertThat("$.stacktrace", hasSize(problem instanceof Throwable ?
+                        ((Throwable) problem).getStackTrace().length : 0))
+                .assertThat("$.fingerprint", is(instanceOf(String.class)));
+    }
+
+    @Test
+    void shouldFallBackToDelegateForDuplicateNames() {
+        assertThrows(IllegalArgumentException.class, () -> gson.toJson(new DuplicateProblem()));
+        assertThrows(IllegalArgumentException.class, () -> gson.toJson(new DuplicateCauseProblem()));
+    }
+
+    @Test
+    void shouldFailToReadFieldOfWrongClass() {
+        final TypeAdapter<MyProblem> adapter = new CustomProblemAdapter<>(
+                gson, factory, TypeToken.get(MyProblem.class), false, false);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final TypeAdapter<Object> raw = (TypeAdapter) adapter;
+
+        assertThrows(JsonIOException.class, () -> raw.toJson(new OutOfStockException("Out of Stock")));
+    }
+
+    @Test
+    void shouldFailToAccessInaccessibleField() {
+        assertThrows(JsonIOException.class, () -> CustomProblemAdapter.getter(String.class.getDeclaredField("value")));
+    }
+
+    private static final class CausedProblem extends AbstractThrowableProblem {
+
+        CausedProblem(final ThrowableProblem cause) {
+            super(URI.create("https://example.org/caused"), "Caused", null, null, null, cause);
+        }
+
+    }
+
+    private static class Named {
+
+        private final String name;
+
+        Named(final String name) {
+            this.name = name;
+        }
+
+    }
+
+    private static final class Extended extends Named {
+
+        private final String extra = "extra";
+
+        Extended(final String name) {
+            super(name);
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class RuntimeTypesProblem implements Problem {
+
+        private Object object = new Named("object");
+        private Number number = 1.5;
+        private Named base = new Extended("base");
+        private String string = "string";
+        private Map<String, Integer> map = Collections.singletonMap("one", 1);
+        private Object self = this;
+        private String missing;
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/runtime-types");
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static class GenericProblem<V> implements Problem {
+
+        private V value;
+
+        GenericProblem(final V value) {
+            this.value = value;
+        }
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/generic");
+        }
+
+    }
+
+    private static final class IntegerProblem extends GenericProblem<Integer> {
+
+        IntegerProblem(final Integer value) {
+            super(value);
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class ExposedProblem implements Problem {
+
+        @Expose
+        private String shown = "shown";
+
+        @Expose(serialize = false)
+        private String hidden = "hidden";
+
+        private String ignored = "ignored";
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/exposed");
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class VersionedProblem implements Problem {
+
+        @Since(1.0)
+        private String current = "current";
+
+        @Since(2.0)
+        private String future = "future";
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/versioned");
+        }
+
+    }
+
+    @JsonAdapter(AdaptedProblem.Adapter.class)
+    private static final class AdaptedProblem implements Problem {
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/adapted");
+        }
+
+        private static final class Adapter extends TypeAdapter<AdaptedProblem> {
+
+            @Override
+            public void write(final JsonWriter out, final AdaptedProblem value) throws IOException {
+                out.beginObject();
+                out.name("type").value(value.getType().toString());
+                out.name("title").value("Adapted");
+                out.endObject();
+            }
+
+            @Override
+            public AdaptedProblem read(final JsonReader in) {
+                throw new UnsupportedOperationException();
+            }
+
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class AdaptedFieldProblem extends AbstractThrowableProblem {
+
+        @JsonAdapter(UpperCase.class)
+        private String name = "adapted";
+
+        AdaptedFieldProblem(final Map<String, Object> parameters) {
+            super(URI.create("https://example.org/adapted-field"), null, null, null, null, null, parameters);
+        }
+
+        private static final class UpperCase extends TypeAdapter<String> {
+
+            @Override
+            public void write(final JsonWriter out, final String value) throws IOException {
+                out.value(value.toUpperCase());
+            }
+
+            @Override
+            public String read(final JsonReader in) throws IOException {
+                return in.nextString();
+            }
+
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class DuplicateProblem implements Problem {
+
+        @SerializedName(value = "first", alternate = "second")
+        private String first;
+
+        private String second;
+
+        @Override
+        public URI getType() {
+            return URI.create("https://example.org/duplicate");
+        }
+
+    }
+
+    @SuppressWarnings({"FieldMayBeFinal", "unused"})
+    private static final class DuplicateCauseProblem extends AbstractThrowableProblem {
+
+        private String cause = "cause";
+
+    }
+
+}
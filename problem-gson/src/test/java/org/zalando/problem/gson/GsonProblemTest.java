@@ -2,10 +2,12 @@ package org.zalando.problem.gson;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import org.junit.jupiter.api.Test;
 import org.zalando.problem.DefaultProblem;
 import org.zalando.problem.Exceptional;
+import org.zalando.problem.Fingerprints;
 import org.zalando.problem.Problem;
 import org.zalando.problem.ProblemBuilder;
 import org.zalando.problem.Status;
@@ -18,8 +20,10 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -86,6 +90,55 @@ class GsonProblemTest {
                 .assertThat("$.product", is("B00027Y5QG"));
     }
 
+    @Test
+    void shouldSerializeMembersInOrder() {
+        final Problem problem = Problem.builder()
+                .withType(URI.create("https://example.org/out-of-stock"))
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withDetail("Item B00027Y5QG is no longer available")
+                .withInstance(URI.create("/orders/123"))
+                .withCause(Problem.builder().withTitle("Cause").withoutStackTrace().build())
+                .withoutStackTrace()
+                .with("product", "B00027Y5QG")
+                .with("amounts", Arrays.asList(1, 2.5))
+                .with("missing", null)
+                .build();
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"type\":\"https://example.org/out-of-stock\"," +
+                "\"title\":\"Out of Stock\"," +
+                "\"status\":400," +
+                "\"detail\":\"Item B00027Y5QG is no longer available\"," +
+                "\"instance\":\"/orders/123\"," +
+                "\"cause\":{\"title\":\"Cause\"}," +
+                "\"product\":\"B00027Y5QG\"," +
+                "\"amounts\":[1,2.5]}"));
+    }
+
+    @Test
+    void shouldSerializeNullsIfEnabled() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory())
+                .serializeNulls()
+                .create();
+
+        final Problem problem = Problem.builder()
+                .withTitle("Out of Stock")
+                .withoutStackTrace()
+                .with("missing", null)
+                .build();
+
+        assertThat(gson.toJson(problem), is("{" +
+                "\"type\":null," +
+                "\"title\":\"Out of Stock\"," +
+                "\"status\":null," +
+                "\"detail\":null," +
+                "\"instance\":null," +
+                "\"cause\":null," +
+                "\"missing\":null}"));
+    }
+
     @Test
     void shouldSerializeCustomProblem() {
         final int balance = 10;
@@ -242,6 +295,94 @@ class GsonProblemTest {
                 .assertThat("$.stacktrace[0]", is(instanceOf(String.class)));
     }
 
+    @Test
+    void shouldSerializeFingerprint() {
+        final ThrowableProblem cause = Problem.builder()
+                .withTitle("Bar")
+                .withStatus(BAD_REQUEST)
+                .build();
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Foo")
+                .withStatus(BAD_REQUEST)
+                .withCause(cause)
+                .build();
+
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withFingerprints())
+                .create();
+
+        with(gson.toJson(problem))
+                .assertThat("$.fingerprint", is(Fingerprints.toString(problem.fingerprint())))
+                .assertThat("$.cause.fingerprint", is(Fingerprints.toString(cause.fingerprint())))
+                .assertNotDefined("$.stacktrace");
+    }
+
+    @Test
+    void shouldSerializeFingerprintOfCustomProblem() {
+        final InsufficientFundsProblem problem = new InsufficientFundsProblem(10, 100);
+        final MyProblem nonThrowable = new MyProblem(URI.create("https://my.org/problem"), "My Custom Problem",
+                Status.MULTI_STATUS, null, null, "Custom");
+
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withFingerprints())
+                .create();
+
+        with(gson.toJson(problem))
+                .assertThat("$.*", hasSize(6))
+                .assertThat("$.fingerprint", is(Fingerprints.toString(problem.fingerprint())));
+        with(gson.toJson(nonThrowable))
+                .assertNotDefined("$.fingerprint");
+    }
+
+    @Test
+    void shouldNotSerializeFingerprintIfDisabled() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withFingerprints().withFingerprints(false))
+                .create();
+
+        with(gson.toJson(Problem.builder().withTitle("Foo").build()))
+                .assertNotDefined("$.fingerprint");
+    }
+
+    @Test
+    void shouldIgnoreFingerprintWhenDeserializing() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withFingerprints())
+                .create();
+
+        final Problem problem = gson.fromJson(
+                "{\"title\":\"Foo\",\"fingerprint\":\"eb89d74408338ffc\",\"product\":\"B00027Y5QG\"}",
+                Problem.class);
+
+        assertThat(problem.getParameters(), is(equalTo(Collections.singletonMap("product", "B00027Y5QG"))));
+    }
+
+    @Test
+    void shouldDeserializeFingerprintAsParameterIfDisabled() {
+        final Problem problem = gson.fromJson("{\"title\":\"Foo\",\"fingerprint\":\"eb89d74408338ffc\"}",
+                Problem.class);
+
+        assertThat(problem.getParameters(), hasEntry("fingerprint", "eb89d74408338ffc"));
+    }
+
+    @Test
+    void shouldDeserializeRegisteredParametersIntoTheirTypes() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory()
+                        .registerParameter("balance", BigDecimal.class)
+                        .registerParameter("amounts", new TypeToken<List<Long>>() {})
+                        .registerParameter("missing", BigDecimal.class))
+                .create();
+
+        final Problem problem = gson.fromJson(
+                "{\"balance\":10.50,\"amounts\":[1,2],\"missing\":null,\"debit\":1}", Problem.class);
+
+        assertThat(problem.getParameters(), hasEntry("balance", new BigDecimal("10.50")));
+        assertThat(problem.getParameters(), hasEntry("amounts", Arrays.asList(1L, 2L)));
+        assertThat(problem.getParameters(), hasEntry("missing", null));
+        assertThat(problem.getParameters(), hasEntry("debit", 1.0));
+    }
+
     @Test
     void shouldDeserializeDefaultProblem() throws IOException {
         try (final JsonReader reader = getReader("default.json")) {
@@ -298,6 +439,37 @@ class GsonProblemTest {
         }
     }
 
+    @Test
+    void shouldDeserializeRegardlessOfMemberOrder() {
+        final Gson plain = new GsonBuilder().registerTypeAdapterFactory(new ProblemAdapterFactory()).create();
+        final String first = "{\"type\":\"https://example.org/not-out-of-stock\",\"title\":\"Out of Stock\"," +
+                "\"product\":\"B00027Y5QG\"}";
+        final String last = "{\"product\":\"B00027Y5QG\",\"title\":\"Out of Stock\"," +
+                "\"type\":\"https://example.org/not-out-of-stock\"}";
+
+        for (final Problem problem : Arrays.asList(gson.fromJson(first, Problem.class),
+                gson.fromJson(last, Problem.class), plain.fromJson(first, Problem.class),
+                plain.fromJson(last, Problem.class))) {
+            assertThat(problem, is(instanceOf(DefaultProblem.class)));
+            assertThat(problem.getType(), hasToString("https://example.org/not-out-of-stock"));
+            assertThat(problem.getTitle(), is("Out of Stock"));
+            assertThat(problem.getParameters(), hasEntry("product", "B00027Y5QG"));
+        }
+    }
+
+    @Test
+    void shouldDeserializeSpecificProblemRegardlessOfMemberOrder() {
+        final Problem first = gson.fromJson(
+                "{\"type\":\"https://example.org/insufficient-funds\",\"balance\":10,\"debit\":-20}",
+                Problem.class);
+        final Problem last = gson.fromJson(
+                "{\"balance\":10,\"debit\":-20,\"type\":\"https://example.org/insufficient-funds\"}",
+                Problem.class);
+
+        assertThat(first, hasFeature("debit", p -> ((InsufficientFundsProblem) p).getDebit(), equalTo(-20)));
+        assertThat(last, hasFeature("debit", p -> ((InsufficientFundsProblem) p).getDebit(), equalTo(-20)));
+    }
+
     @Test
     void shouldDeserializeUnknownStatus() throws IOException {
         try (final JsonReader reader = getReader("unknown.json")) {
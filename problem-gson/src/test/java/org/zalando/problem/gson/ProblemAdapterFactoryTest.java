@@ -1,9 +1,21 @@
 package org.zalando.problem.gson;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.zalando.problem.Problem;
 import org.zalando.problem.Status;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -38,4 +50,57 @@ class ProblemAdapterFactoryTest {
                     .registerSubtype(OutOfStockException.TYPE, InsufficientFundsProblem.class);
         });
     }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    void shouldThrowForDuplicateParameter() {
+        final ProblemAdapterFactory factory = new ProblemAdapterFactory().registerParameter("balance", Integer.class);
+
+        assertThrows(IllegalArgumentException.class, () -> factory.registerParameter("balance", Long.class));
+    }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    void shouldRejectStandardMembersAsParameters() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ProblemAdapterFactory().registerParameter("status", Integer.class));
+    }
+
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "ConstantConditions"})
+    @Test
+    void shouldRejectNullParameters() {
+        assertThrows(NullPointerException.class, () ->
+                new ProblemAdapterFactory().registerParameter(null, String.class));
+        assertThrows(NullPointerException.class, () ->
+                new ProblemAdapterFactory().registerParameter("product", (TypeToken<?>) null));
+    }
+
+    @Test
+    void shouldResolveCustomAdaptersOnce() {
+        final AtomicInteger lookups = new AtomicInteger();
+        // factories that are registered later take precedence, i.e. this one only sees delegate lookups
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new TypeAdapterFactory() {
+                    @Override
+                    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+                        if (type.getRawType() == InsufficientFundsProblem.class) {
+                            lookups.incrementAndGet();
+                        }
+                        return null;
+                    }
+                })
+                .registerTypeAdapterFactory(new ProblemAdapterFactory()
+                        .registerSubtype(InsufficientFundsProblem.TYPE, InsufficientFundsProblem.class))
+                .create();
+
+        final String json = gson.toJson(new InsufficientFundsProblem(10, 100));
+        assertThat(gson.toJson(new InsufficientFundsProblem(10, 100)), is(json));
+        // writing follows the field plan, which is computed once by observing a copy of Gson
+        assertThat(lookups.get(), is(1));
+
+        assertThat(gson.fromJson(json, Problem.class), is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(gson.fromJson(json, Problem.class), is(instanceOf(InsufficientFundsProblem.class)));
+        assertThat(lookups.get(), is(2));
+    }
+
 }
@@ -0,0 +1,61 @@
+package org.zalando.problem.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemCounters;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+class ProblemListenerTest {
+
+    private final URI type = URI.create("https://example.org/" + UUID.randomUUID());
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ProblemAdapterFactory().withListener(new ProblemCounters()))
+            .create();
+
+    @Test
+    void shouldNotifyOnSerialize() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(type)
+                .withStatus(BAD_REQUEST)
+                .withCause(Problem.builder().withType(type).build())
+                .build();
+
+        gson.toJson(problem);
+
+        assertThat(ProblemCounters.serialized().count(type), is(2L));
+    }
+
+    @Test
+    void shouldNotifyOnDeserialize() {
+        final String json = "{\"type\":\"" + type + "\",\"cause\":{\"type\":\"" + type + "\"}}";
+
+        gson.fromJson(json, Problem.class);
+
+        assertThat(ProblemCounters.deserialized().count(type), is(2L));
+    }
+
+    @Test
+    void shouldNotNotifyWithoutListener() {
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ProblemAdapterFactory().withListener(ProblemListener.DEFAULT))
+                .create();
+
+        final ThrowableProblem problem = Problem.builder().withType(type).build();
+        gson.fromJson(gson.toJson(problem), Problem.class);
+
+        assertThat(ProblemCounters.serialized().count(type), is(0L));
+        assertThat(ProblemCounters.deserialized().count(type), is(0L));
+    }
+
+}
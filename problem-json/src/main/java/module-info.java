@@ -0,0 +1,5 @@
+module org.zalando.problem.json {
+    requires static org.apiguardian.api;
+    requires transitive org.zalando.problem;
+    exports org.zalando.problem.json;
+}
@@ -0,0 +1,397 @@
+package org.zalando.problem.json;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Exceptional;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.StackTraceStrings;
+import org.zalando.problem.Status;
+import org.zalando.problem.StatusRegistry;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spi.ProblemListener;
+import org.zalando.problem.spi.ProblemListeners;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Writes and reads {@code application/problem+json} as UTF-8 encoded bytes, without any JSON library. Meant for
+ * services that only ever exchange problems and would rather not pay for the startup and memory of a general purpose
+ * data binding.
+ *
+ * <p>Any {@link Problem} can be written: its standard members, its {@link Exceptional#getCause() cause} and its
+ * {@link Problem#getParameters() parameters}, which may be {@code null}, {@link String strings},
+ * {@link Boolean booleans}, {@link Number numbers}, i.e. primitive wrappers, {@link BigInteger big integers} and
+ * {@link BigDecimal big decimals}, as well as {@link Collection collections} and {@link Map maps} thereof. Reading
+ * always produces {@link org.zalando.problem.DefaultProblem default problems}, i.e. there are no subtypes, and reads
+ * parameters the same way as Jackson reads untyped values. The output is the same as the one of the Jackson binding,
+ * e.g. members are written in the same order and absent or empty standard members are omitted. The Gson binding
+ * differs in that it writes empty standard members.</p>
+ *
+ * <p>Codecs are immutable and thread-safe. Malformed input, unsupported parameters and nesting beyond
+ * {@value Utf8Reader#MAX_DEPTH} levels are reported as {@link IllegalArgumentException}.</p>
+ */
+@API(status = EXPERIMENTAL)
+public final class ProblemCodec {
+
+    private static final int CAPACITY = 512;
+
+    private static final byte[] TYPE = name("type");
+    private static final byte[] TITLE = name("title");
+    private static final byte[] STATUS = name("status");
+    private static final byte[] DETAIL = name("detail");
+    private static final byte[] INSTANCE = name("instance");
+    private static final byte[] CAUSE = name("cause");
+    private static final byte[] STACKTRACE = name("stacktrace");
+    private static final byte[] FINGERPRINT = name("fingerprint");
+
+    private final boolean stackTraces;
+    private final boolean fingerprints;
+    private final StatusRegistry statuses;
+    private final ProblemListener listener;
+
+    public ProblemCodec() {
+        this(Status.class);
+    }
+
+    /**
+     * @param <E> generic enum type
+     * @param types status type enums
+     * @throws IllegalArgumentException if there are duplicate status codes across all status types
+     */
+    @SafeVarargs
+    public <E extends Enum<?> & StatusType> ProblemCodec(final Class<? extends E>... types)
+            throws IllegalArgumentException {
+
+        this(false, false, StatusRegistry.of(types), ProblemListeners.current());
+    }
+
+    private ProblemCodec(final boolean stackTraces, final boolean fingerprints, final StatusRegistry statuses,
+            final ProblemListener listener) {
+        this.stackTraces = stackTraces;
+        this.fingerprints = fingerprints;
+        this.statuses = statuses;
+        this.listener = listener;
+    }
+
+    public ProblemCodec withStackTraces() {
+        return withStackTraces(true);
+    }
+
+    public ProblemCodec withStackTraces(final boolean stackTraces) {
+        return new ProblemCodec(stackTraces, fingerprints, statuses, listener);
+    }
+
+    /**
+     * Emits the {@link Exceptional#fingerprint() fingerprint} of exceptional problems as a {@code "fingerprint"}
+     * member, rendered as {@link Fingerprints#toString(long) hex string}. It's ignored when reading, since it's
+     * derived from the problem itself.
+     *
+     * @return a copy of this codec that emits fingerprints
+     */
+    public ProblemCodec withFingerprints() {
+        return withFingerprints(true);
+    }
+
+    public ProblemCodec withFingerprints(final boolean fingerprints) {
+        return new ProblemCodec(stackTraces, fingerprints, statuses, listener);
+    }
+
+    ProblemCodec withListener(final ProblemListener listener) {
+        return new ProblemCodec(stackTraces, fingerprints, statuses, listener);
+    }
+
+    /**
+     * @param problem the problem to write
+     * @return the problem as UTF-8 encoded JSON
+     * @throws IllegalArgumentException if any parameter is not supported
+     */
+    public byte[] write(final Problem problem) throws IllegalArgumentException {
+        return encoded(problem).toByteArray();
+    }
+
+    /**
+     * The same as {@link #write(Problem)}, but without copying the result into an array of the exact size.
+     *
+     * @param problem the problem to write
+     * @return the problem as UTF-8 encoded JSON, between the buffer's position and limit
+     * @throws IllegalArgumentException if any parameter is not supported
+     */
+    public ByteBuffer encode(final Problem problem) throws IllegalArgumentException {
+        return encoded(problem).toByteBuffer();
+    }
+
+    private Utf8Writer encoded(final Problem problem) {
+        final Utf8Writer out = new Utf8Writer(CAPACITY);
+        write(out, problem, 0);
+        return out;
+    }
+
+    private void write(final Utf8Writer out, final Problem problem, final int depth) {
+        check(depth);
+        listener.onSerialize(problem);
+
+        out.write('{');
+        boolean first = true;
+
+        @Nullable final URI type = problem.getType();
+        if (type != null && !Problem.DEFAULT_TYPE.equals(type)) {
+            first = nonEmpty(out, TYPE, type.toString(), first);
+        }
+
+        first = nonEmpty(out, TITLE, problem.getTitle(), first);
+
+        @Nullable final StatusType status = problem.getStatus();
+        if (status != null) {
+            first = member(out, STATUS, first);
+            out.number(status.getStatusCode());
+        }
+
+        first = nonEmpty(out, DETAIL, problem.getDetail(), first);
+
+        @Nullable final URI instance = problem.getInstance();
+        if (instance != null) {
+            first = nonEmpty(out, INSTANCE, instance.toString(), first);
+        }
+
+        if (problem instanceof Exceptional) {
+            @Nullable final Exceptional cause = ((Exceptional) problem).getCause();
+            if (cause != null) {
+                first = member(out, CAUSE, first);
+                write(out, cause, depth + 1);
+            }
+        }
+
+        for (final Map.Entry<String, Object> parameter : problem.getParameters().entrySet()) {
+            first = separate(out, first);
+            out.string(String.valueOf(parameter.getKey()));
+            out.write(':');
+            value(out, parameter.getValue(), depth + 1);
+        }
+
+        if (stackTraces && problem instanceof Throwable) {
+            first = stackTrace(out, ((Throwable) problem).getStackTrace(), first);
+        }
+
+        if (fingerprints && problem instanceof Exceptional) {
+            member(out, FINGERPRINT, first);
+            out.string(Fingerprints.toString(((Exceptional) problem).fingerprint()));
+        }
+
+        out.write('}');
+    }
+
+    /**
+     * Empty stack traces, e.g. of stackless problems, are omitted, the same as by Jackson.
+     */
+    private static boolean stackTrace(final Utf8Writer out, final StackTraceElement[] stackTrace, final boolean first) {
+        if (stackTrace.length == 0) {
+            return first;
+        }
+
+        member(out, STACKTRACE, first);
+        out.write('[');
+        boolean element = true;
+        for (final StackTraceElement frame : stackTrace) {
+            element = separate(out, element);
+            out.string(StackTraceStrings.toString(frame));
+        }
+        out.write(']');
+        return false;
+    }
+
+    private static void value(final Utf8Writer out, @Nullable final Object value, final int depth) {
+        if (value == null) {
+            out.plain("null");
+        } else if (value instanceof String) {
+            out.string((String) value);
+        } else if (value instanceof Boolean) {
+            out.plain(value.toString());
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.number(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            out.number((double) (Double) value);
+        } else if (value instanceof Float) {
+            out.number((float) (Float) value);
+        } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+            out.plain(value.toString());
+        } else if (value instanceof Map) {
+            check(depth);
+            out.write('{');
+            boolean first = true;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                first = separate(out, first);
+                // same keys as the other bindings
+                out.string(String.valueOf(entry.getKey()));
+                out.write(':');
+                value(out, entry.getValue(), depth + 1);
+            }
+            out.write('}');
+        } else if (value instanceof Collection) {
+            check(depth);
+            out.write('[');
+            boolean first = true;
+            for (final Object element : (Collection<?>) value) {
+                first = separate(out, first);
+                value(out, element, depth + 1);
+            }
+            out.write(']');
+        } else {
+            throw new IllegalArgumentException("Unsupported parameter of " + value.getClass());
+        }
+    }
+
+    /**
+     * Omits absent and empty members, the same as the Jackson binding.
+     */
+    private static boolean nonEmpty(final Utf8Writer out, final byte[] name, @Nullable final String value,
+            final boolean first) {
+
+        if (value == null || value.isEmpty()) {
+            return first;
+        }
+
+        final boolean next = member(out, name, first);
+        out.string(value);
+        return next;
+    }
+
+    private static boolean member(final Utf8Writer out, final byte[] name, final boolean first) {
+        separate(out, first);
+        out.write(name);
+        return false;
+    }
+
+    private static boolean separate(final Utf8Writer out, final boolean first) {
+        if (!first) {
+            out.write(',');
+        }
+        return false;
+    }
+
+    private static void check(final int depth) throws IllegalArgumentException {
+        if (depth > Utf8Reader.MAX_DEPTH) {
+            throw new IllegalArgumentException("Nesting exceeds " + Utf8Reader.MAX_DEPTH + " levels");
+        }
+    }
+
+    /**
+     * @param json UTF-8 encoded JSON
+     * @return the problem
+     * @throws IllegalArgumentException if the given bytes are not a valid problem
+     */
+    public ThrowableProblem read(final byte[] json) throws IllegalArgumentException {
+        return read(json, 0, json.length);
+    }
+
+    /**
+     * @param json UTF-8 encoded JSON
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the problem
+     * @throws IllegalArgumentException if the given bytes are not a valid problem
+     * @throws IndexOutOfBoundsException if offset and length are out of the array's bounds
+     */
+    public ThrowableProblem read(final byte[] json, final int offset, final int length)
+            throws IllegalArgumentException {
+
+        if (offset < 0 || length < 0 || offset > json.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length +
+                    ") out of bounds for length " + json.length);
+        }
+
+        final Utf8Reader in = new Utf8Reader(json, offset, length);
+        final ThrowableProblem problem = read(in, 0);
+        in.end();
+        return problem;
+    }
+
+    /**
+     * Reads the remaining bytes of the given buffer. Its position is advanced to its limit, if the problem is valid.
+     *
+     * @param json UTF-8 encoded JSON, between the buffer's position and limit
+     * @return the problem
+     * @throws IllegalArgumentException if the given bytes are not a valid problem
+     */
+    public ThrowableProblem decode(final ByteBuffer json) throws IllegalArgumentException {
+        final ThrowableProblem problem;
+
+        if (json.hasArray()) {
+            problem = read(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        } else {
+            final byte[] bytes = new byte[json.remaining()];
+            json.duplicate().get(bytes);
+            problem = read(bytes);
+        }
+
+        // Buffer#position(int) is covariant in Java 9+
+        ((Buffer) json).position(json.limit());
+        return problem;
+    }
+
+    private ThrowableProblem read(final Utf8Reader in, final int depth) {
+        in.check(depth);
+        in.beginObject();
+
+        final ProblemBuilder builder = Problem.builder();
+
+        for (boolean first = true; in.hasNext(first, '}'); first = false) {
+            final String name = in.name();
+
+            if (fingerprints && "fingerprint".equals(name)) {
+                // derived from the problem itself
+                in.value(depth);
+                continue;
+            }
+
+            switch (name) {
+                case "type":
+                    builder.withType(in.nextNull() ? Problem.DEFAULT_TYPE : uri(in));
+                    break;
+                case "title":
+                    builder.withTitle(in.nextNull() ? null : in.string());
+                    break;
+                case "status":
+                    builder.withStatus(in.nextNull() ? null : statuses.resolve(in.integer()));
+                    break;
+                case "detail":
+                    builder.withDetail(in.nextNull() ? null : in.string());
+                    break;
+                case "instance":
+                    builder.withInstance(in.nextNull() ? null : uri(in));
+                    break;
+                case "cause":
+                    builder.withCause(in.nextNull() ? null : read(in, depth + 1));
+                    break;
+                default:
+                    builder.with(name, in.value(depth));
+                    break;
+            }
+        }
+
+        final ThrowableProblem problem = builder.build();
+        listener.onDeserialize(problem);
+        return problem;
+    }
+
+    private static URI uri(final Utf8Reader in) throws IllegalArgumentException {
+        return URI.create(in.string());
+    }
+
+    private static byte[] name(final String name) {
+        return ('"' + name + "\":").getBytes(US_ASCII);
+    }
+
+}
@@ -0,0 +1,496 @@
+package org.zalando.problem.json;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses JSON from UTF-8 encoded bytes, strictly according to RFC 8259, without any intermediate representation.
+ * Arbitrary values are read as {@link String strings}, {@link Boolean booleans}, {@link Integer integers},
+ * {@link Long longs} or {@link BigInteger big integers}, depending on their magnitude, {@link Double doubles},
+ * {@link List lists} and {@link Map maps}, the same as Jackson does for untyped values. Nesting is limited to
+ * {@value #MAX_DEPTH} levels, since parsing is recursive. Any violation is reported as an
+ * {@link IllegalArgumentException} that points at the offending offset.
+ */
+final class Utf8Reader {
+
+    static final int MAX_DEPTH = 512;
+
+    private static final int MAX_CACHED_NAME = 32;
+
+    /**
+     * Recently read member names, indexed by their hash. Lookups and updates race, which is benign, since strings are
+     * immutable and safely published, i.e. a lost update only costs an allocation.
+     */
+    private static final String[] NAMES = new String[1024];
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final byte[] bytes;
+    private final int end;
+    private int position;
+
+    Utf8Reader(final byte[] bytes, final int offset, final int length) {
+        this.bytes = bytes;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    void beginObject() throws IllegalArgumentException {
+        if (peek() != '{') {
+            throw unexpected("object");
+        }
+        position++;
+    }
+
+    /**
+     * @param first whether no member or element was read yet
+     * @param close the closing bracket
+     * @return whether there is another member or element, which consumes the closing bracket if there isn't
+     */
+    boolean hasNext(final boolean first, final char close) throws IllegalArgumentException {
+        final byte next = peek();
+
+        if (next == close) {
+            position++;
+            return false;
+        }
+
+        if (!first) {
+            if (next != ',') {
+                throw unexpected("',' or '" + close + "'");
+            }
+            position++;
+        }
+
+        return true;
+    }
+
+    String name() throws IllegalArgumentException {
+        final String name = cached();
+
+        if (peek() != ':') {
+            throw unexpected("':'");
+        }
+        position++;
+
+        return name;
+    }
+
+    /**
+     * @return whether the next value is null, which consumes it if it is
+     */
+    boolean nextNull() throws IllegalArgumentException {
+        if (peek() == 'n') {
+            literal(NULL);
+            return true;
+        }
+        return false;
+    }
+
+    String string() throws IllegalArgumentException {
+        if (peek() != '"') {
+            throw unexpected("string");
+        }
+
+        final int start = ++position;
+        boolean ascii = true;
+
+        while (position < end) {
+            final byte next = bytes[position];
+
+            if (next == '"') {
+                // ASCII is a subset of Latin-1, which decodes without any checks
+                final String value = ascii ?
+                        new String(bytes, start, position - start, ISO_8859_1) :
+                        decode(start, position - start);
+                position++;
+                return value;
+            } else if (next == '\\') {
+                return escaped(start);
+            } else if (next >= 0 && next < 0x20) {
+                throw error("Unescaped control character");
+            }
+
+            ascii &= next >= 0;
+            position++;
+        }
+
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Reads short ASCII names that don't need unescaping through a lossy cache, since problems of the same kind tend
+     * to repeat the same names. Anything else is read as any other string.
+     */
+    private String cached() throws IllegalArgumentException {
+        if (peek() == '"') {
+            final int start = position + 1;
+            final int limit = Math.min(end, start + MAX_CACHED_NAME);
+            // the same as String#hashCode
+            int hash = 0;
+
+            for (int index = start; index < limit; index++) {
+                final byte next = bytes[index];
+
+                if (next == '"') {
+                    position = index + 1;
+                    return cached(start, index - start, hash);
+                } else if (next < 0x20 || next == '\\') {
+                    // control characters, non-ASCII bytes and escapes
+                    break;
+                }
+
+                hash = 31 * hash + next;
+            }
+        }
+
+        return string();
+    }
+
+    private String cached(final int start, final int length, final int hash) {
+        final int slot = slot(hash);
+        @Nullable final String candidate = NAMES[slot];
+
+        if (candidate != null && matches(candidate, start, length)) {
+            return candidate;
+        }
+
+        final String name = new String(bytes, start, length, ISO_8859_1);
+        NAMES[slot] = name;
+        return name;
+    }
+
+    static int slot(final int hash) {
+        return (hash ^ hash >>> 16) & (NAMES.length - 1);
+    }
+
+    private boolean matches(final String candidate, final int start, final int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+
+        for (int index = 0; index < length; index++) {
+            if (candidate.charAt(index) != bytes[start + index]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String escaped(final int start) throws IllegalArgumentException {
+        final StringBuilder builder = new StringBuilder(position - start + 16);
+        int segment = start;
+
+        while (position < end) {
+            final byte next = bytes[position];
+
+            if (next == '"') {
+                builder.append(decode(segment, position - segment));
+                position++;
+                return builder.toString();
+            } else if (next == '\\') {
+                // a backslash never is part of a multi-byte sequence, i.e. segments are always complete
+                builder.append(decode(segment, position - segment));
+                position++;
+                builder.append(escape());
+                segment = position;
+            } else if (next >= 0 && next < 0x20) {
+                throw error("Unescaped control character");
+            } else {
+                position++;
+            }
+        }
+
+        throw error("Unterminated string");
+    }
+
+    private char escape() throws IllegalArgumentException {
+        if (position >= end) {
+            throw error("Unterminated string");
+        }
+
+        final byte next = bytes[position++];
+
+        switch (next) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) next;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return unicode();
+            default:
+                position--;
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    private char unicode() throws IllegalArgumentException {
+        if (position + 4 > end) {
+            throw error("Unterminated string");
+        }
+
+        int value = 0;
+
+        for (int index = 0; index < 4; index++) {
+            final int digit = Character.digit(bytes[position], 16);
+
+            if (digit < 0) {
+                throw error("Invalid escape sequence");
+            }
+
+            value = value << 4 | digit;
+            position++;
+        }
+
+        return (char) value;
+    }
+
+    int integer() throws IllegalArgumentException {
+        final byte next = peek();
+        final int start = position;
+
+        if (next == '-' || next >= '0' && next <= '9') {
+            final Number value = number();
+
+            if (value instanceof Integer) {
+                return (Integer) value;
+            }
+        }
+
+        position = start;
+        throw unexpected("integer");
+    }
+
+    /**
+     * @param depth the number of enclosing objects and arrays
+     * @return the next value, as any of the types that represent arbitrary JSON
+     */
+    @Nullable
+    Object value(final int depth) throws IllegalArgumentException {
+        final byte next = peek();
+
+        switch (next) {
+            case '{':
+                return object(depth + 1);
+            case '[':
+                return array(depth + 1);
+            case '"':
+                return string();
+            case 't':
+                literal(TRUE);
+                return Boolean.TRUE;
+            case 'f':
+                literal(FALSE);
+                return Boolean.FALSE;
+            case 'n':
+                literal(NULL);
+                return null;
+            default:
+                if (next == '-' || next >= '0' && next <= '9') {
+                    return number();
+                }
+                throw unexpected("value");
+        }
+    }
+
+    private Map<String, Object> object(final int depth) throws IllegalArgumentException {
+        check(depth);
+        position++;
+
+        final Map<String, Object> object = new LinkedHashMap<>();
+
+        for (boolean first = true; hasNext(first, '}'); first = false) {
+            final String name = name();
+            object.put(name, value(depth));
+        }
+
+        return object;
+    }
+
+    private List<Object> array(final int depth) throws IllegalArgumentException {
+        check(depth);
+        position++;
+
+        final List<Object> array = new ArrayList<>();
+
+        for (boolean first = true; hasNext(first, ']'); first = false) {
+            array.add(value(depth));
+        }
+
+        return array;
+    }
+
+    void check(final int depth) throws IllegalArgumentException {
+        if (depth > MAX_DEPTH) {
+            throw error("Nesting exceeds " + MAX_DEPTH + " levels");
+        }
+    }
+
+    private Number number() throws IllegalArgumentException {
+        final int start = position;
+
+        if (bytes[position] == '-') {
+            position++;
+        }
+
+        final int digits = position;
+
+        if (position < end && bytes[position] == '0') {
+            position++;
+        } else if (skipDigits() == 0) {
+            throw error("Invalid number");
+        }
+
+        final int integral = position - digits;
+        boolean decimal = false;
+
+        if (position < end && bytes[position] == '.') {
+            position++;
+            decimal = true;
+
+            if (skipDigits() == 0) {
+                throw error("Invalid number");
+            }
+        }
+
+        if (position < end && (bytes[position] == 'e' || bytes[position] == 'E')) {
+            position++;
+            decimal = true;
+
+            if (position < end && (bytes[position] == '+' || bytes[position] == '-')) {
+                position++;
+            }
+
+            if (skipDigits() == 0) {
+                throw error("Invalid number");
+            }
+        }
+
+        if (decimal) {
+            return Double.parseDouble(new String(bytes, start, position - start, ISO_8859_1));
+        }
+
+        // at most 18 digits always fit into a long
+        if (integral <= 18) {
+            long value = 0;
+
+            for (int index = digits; index < position; index++) {
+                value = value * 10 + (bytes[index] - '0');
+            }
+
+            if (digits > start) {
+                value = -value;
+            }
+
+            return value == (int) value ? Integer.valueOf((int) value) : (Number) Long.valueOf(value);
+        }
+
+        final BigInteger value = new BigInteger(new String(bytes, start, position - start, ISO_8859_1));
+        return value.bitLength() < 64 ? (Number) value.longValue() : value;
+    }
+
+    private int skipDigits() {
+        final int start = position;
+
+        while (position < end && bytes[position] >= '0' && bytes[position] <= '9') {
+            position++;
+        }
+
+        return position - start;
+    }
+
+    private void literal(final byte[] literal) throws IllegalArgumentException {
+        if (position + literal.length > end) {
+            throw unexpected("value");
+        }
+
+        for (int index = 0; index < literal.length; index++) {
+            if (bytes[position + index] != literal[index]) {
+                throw unexpected("value");
+            }
+        }
+
+        position += literal.length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is anything but whitespace left
+     */
+    void end() throws IllegalArgumentException {
+        if (skipWhitespace() < end) {
+            throw unexpected("end of input");
+        }
+    }
+
+    private byte peek() throws IllegalArgumentException {
+        if (skipWhitespace() >= end) {
+            throw error("Unexpected end of input");
+        }
+        return bytes[position];
+    }
+
+    private int skipWhitespace() {
+        while (position < end) {
+            final byte next = bytes[position];
+
+            if (next != ' ' && next != '\n' && next != '\r' && next != '\t') {
+                break;
+            }
+
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Decodes strictly, i.e. malformed input is rejected rather than replaced, as {@link String#String(byte[], int,
+     * int, java.nio.charset.Charset)} would do. Decoders are stateful, but only needed for non-ASCII strings.
+     */
+    private String decode(final int start, final int length) throws IllegalArgumentException {
+        final ByteBuffer input = ByteBuffer.wrap(bytes, start, length);
+
+        try {
+            return UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(input)
+                    .toString();
+        } catch (final CharacterCodingException e) {
+            throw new IllegalArgumentException("Malformed UTF-8 at offset " + input.position(), e);
+        }
+    }
+
+    private IllegalArgumentException unexpected(final String expected) {
+        return error("Expected " + expected);
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.zalando.problem.json;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Writes JSON tokens as UTF-8 into a growing byte array. Strings are encoded right away, i.e. without going through a
+ * {@link java.nio.charset.CharsetEncoder}, and ASCII strings that don't need escaping take a single pass.
+ * Separators and structure are up to the caller.
+ */
+final class Utf8Writer {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(US_ASCII);
+    private static final String MIN_LONG = Long.toString(Long.MIN_VALUE);
+
+    private byte[] bytes;
+    private int size;
+
+    Utf8Writer(final int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    void write(final char c) {
+        ensure(1);
+        bytes[size++] = (byte) c;
+    }
+
+    /**
+     * @param raw pre-encoded bytes, e.g. a member name including quotes and colon
+     */
+    void write(final byte[] raw) {
+        ensure(raw.length);
+        System.arraycopy(raw, 0, bytes, size, raw.length);
+        size += raw.length;
+    }
+
+    void string(final String value) {
+        final int length = value.length();
+        ensure(length + 2);
+        bytes[size++] = '"';
+
+        int index = 0;
+
+        // ASCII without escapes needs exactly one byte per character, which is the common case
+        for (; index < length; index++) {
+            final char c = value.charAt(index);
+
+            if (c < 0x20 || c >= 0x80 || c == '"' || c == '\\') {
+                break;
+            }
+
+            bytes[size++] = (byte) c;
+        }
+
+        for (; index < length; index++) {
+            // an escaped control character is the longest sequence per character
+            ensure(6);
+            final char c = value.charAt(index);
+
+            if (c < 0x80) {
+                ascii(c);
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | c >> 6);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                bytes[size++] = (byte) (0xE0 | c >> 12);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && index + 1 < length
+                    && Character.isLowSurrogate(value.charAt(index + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++index));
+                bytes[size++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                // same as String#getBytes for unpaired surrogates
+                bytes[size++] = '?';
+            }
+        }
+
+        write('"');
+    }
+
+    private void ascii(final char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+                bytes[size++] = '\\';
+                bytes[size++] = (byte) c;
+                break;
+            case '\b':
+                escape('b');
+                break;
+            case '\f':
+                escape('f');
+                break;
+            case '\n':
+                escape('n');
+                break;
+            case '\r':
+                escape('r');
+                break;
+            case '\t':
+                escape('t');
+                break;
+            default:
+                if (c < 0x20) {
+                    bytes[size++] = '\\';
+                    bytes[size++] = 'u';
+                    bytes[size++] = '0';
+                    bytes[size++] = '0';
+                    bytes[size++] = HEX[c >> 4];
+                    bytes[size++] = HEX[c & 0xF];
+                } else {
+                    bytes[size++] = (byte) c;
+                }
+                break;
+        }
+    }
+
+    private void escape(final char c) {
+        bytes[size++] = '\\';
+        bytes[size++] = (byte) c;
+    }
+
+    void number(final long value) {
+        if (value == Long.MIN_VALUE) {
+            // can't be negated
+            plain(MIN_LONG);
+            return;
+        }
+
+        ensure(20);
+
+        long remainder = value;
+
+        if (remainder < 0) {
+            bytes[size++] = '-';
+            remainder = -remainder;
+        }
+
+        int digits = 1;
+        for (long rest = remainder / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+
+        size += digits;
+        int index = size;
+
+        do {
+            bytes[--index] = (byte) ('0' + remainder % 10);
+            remainder /= 10;
+        } while (remainder != 0);
+    }
+
+    void number(final double value) throws IllegalArgumentException {
+        plain(Double.toString(finite(value)));
+    }
+
+    void number(final float value) throws IllegalArgumentException {
+        // rendered as float, i.e. 0.1f stays 0.1
+        plain(Float.toString((float) finite(value)));
+    }
+
+    private static double finite(final double value) throws IllegalArgumentException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(value + " is not a valid JSON number");
+        }
+        return value;
+    }
+
+    /**
+     * @param value a string that doesn't need escaping, e.g. a rendered number or a literal
+     */
+    void plain(final String value) {
+        final int length = value.length();
+        ensure(length);
+
+        for (int index = 0; index < length; index++) {
+            bytes[size++] = (byte) value.charAt(index);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    ByteBuffer toByteBuffer() {
+        // shares the array, i.e. avoids copying it
+        return ByteBuffer.wrap(bytes, 0, size);
+    }
+
+    private void ensure(final int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+}
@@ -0,0 +1,480 @@
+package org.zalando.problem.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.DefaultProblem;
+import org.zalando.problem.Fingerprints;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemCounters;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.jackson.ProblemModule;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.NOT_FOUND;
+
+class ProblemCodecTest {
+
+    private final ProblemCodec unit = new ProblemCodec();
+
+    @Test
+    void shouldWriteStandardMembersInOrder() {
+        final ThrowableProblem problem = Problem.builder()
+                .withInstance(URI.create("https://example.org/orders/123"))
+                .withDetail("Order 123 doesn't exist")
+                .withStatus(NOT_FOUND)
+                .withTitle("Not Found")
+                .withType(URI.create("https://example.org/not-found"))
+                .build();
+
+        assertThat(write(problem), is("{\"type\":\"https://example.org/not-found\",\"title\":\"Not Found\"," +
+                "\"status\":404,\"detail\":\"Order 123 doesn't exist\"," +
+                "\"instance\":\"https://example.org/orders/123\"}"));
+    }
+
+    @Test
+    void shouldOmitDefaultTypeAndAbsentMembers() {
+        assertThat(write(Problem.valueOf(NOT_FOUND)), is("{\"title\":\"Not Found\",\"status\":404}"));
+        assertThat(write(Problem.builder().withType(null).build()), is("{}"));
+    }
+
+    @Test
+    void shouldOmitEmptyMembers() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(URI.create(""))
+                .withTitle("")
+                .withDetail("")
+                .withInstance(URI.create(""))
+                .build();
+
+        assertThat(write(problem), is("{}"));
+    }
+
+    @Test
+    void shouldWriteSameAsJackson() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule());
+
+        for (final String value : Arrays.asList(null, "", "Out of Stock")) {
+            final ThrowableProblem problem = Problem.builder()
+                    .withType(URI.create("https://example.org/out-of-stock"))
+                    .withTitle(value)
+                    .withStatus(BAD_REQUEST)
+                    .withDetail(value)
+                    .withoutStackTrace()
+                    .build();
+
+            final byte[] json = unit.write(problem);
+
+            assertThat(new String(json, UTF_8), is(mapper.writeValueAsString(problem)));
+            assertThat(write(mapper.readValue(json, Problem.class)), is(write(problem)));
+            assertThat(mapper.writeValueAsString(unit.read(mapper.writeValueAsBytes(problem))),
+                    is(mapper.writeValueAsString(problem)));
+        }
+    }
+
+    @Test
+    void shouldWriteCauseBeforeParameters() {
+        final ThrowableProblem problem = Problem.builder()
+                .withStatus(BAD_REQUEST)
+                .with("key", "value")
+                .withCause(Problem.builder().withTitle("Cause").build())
+                .build();
+
+        assertThat(write(problem),
+                is("{\"status\":400,\"cause\":{\"title\":\"Cause\"},\"key\":\"value\"}"));
+    }
+
+    @Test
+    void shouldWriteProblemsThatAreNotExceptional() {
+        final Problem problem = new Problem() {
+            @Override
+            public URI getType() {
+                return null;
+            }
+
+            @Override
+            public Map<String, Object> getParameters() {
+                return Collections.singletonMap("key", 1);
+            }
+        };
+
+        // the counting listener needs a type
+        final ProblemCodec codec = unit.withListener(ProblemListener.DEFAULT).withStackTraces().withFingerprints();
+
+        assertThat(write(codec, problem), is("{\"key\":1}"));
+    }
+
+    @Test
+    void shouldWriteSupportedParameters() {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(1, null);
+        map.put("list", Arrays.asList(true, false));
+
+        final ThrowableProblem problem = Problem.builder()
+                .with("null", null)
+                .with("string", "ä\"")
+                .with("boolean", true)
+                .with("int", -42)
+                .with("long", Long.MAX_VALUE)
+                .with("short", (short) 7)
+                .with("byte", (byte) 8)
+                .with("double", 1.5)
+                .with("float", 0.1f)
+                .with("bigInteger", BigInteger.TEN.pow(20))
+                .with("bigDecimal", new BigDecimal("0.10"))
+                .with("map", map)
+                .with("set", new LinkedHashSet<>(Arrays.asList("a", "b")))
+                .with("empty", Collections.emptyList())
+                .build();
+
+        assertThat(write(problem), is("{\"null\":null,\"string\":\"ä\\\"\",\"boolean\":true,\"int\":-42," +
+                "\"long\":9223372036854775807,\"short\":7,\"byte\":8,\"double\":1.5,\"float\":0.1," +
+                "\"bigInteger\":100000000000000000000,\"bigDecimal\":0.10," +
+                "\"map\":{\"1\":null,\"list\":[true,false]},\"set\":[\"a\",\"b\"],\"empty\":[]}"));
+    }
+
+    @Test
+    void shouldRejectUnsupportedParameters() {
+        final ThrowableProblem problem = Problem.builder().with("uuid", UUID.randomUUID()).build();
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> unit.write(problem));
+
+        assertThat(e.getMessage(), is("Unsupported parameter of class java.util.UUID"));
+    }
+
+    @Test
+    void shouldRejectNonFiniteParameters() {
+        final ThrowableProblem problem = Problem.builder().with("ratio", Double.NaN).build();
+
+        assertThrows(IllegalArgumentException.class, () -> unit.write(problem));
+    }
+
+    @Test
+    void shouldRejectDeeplyNestedParameters() {
+        List<Object> list = Collections.emptyList();
+        for (int depth = 0; depth < Utf8Reader.MAX_DEPTH; depth++) {
+            list = Collections.singletonList(list);
+        }
+        final ThrowableProblem problem = Problem.builder().with("list", list).build();
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> unit.write(problem));
+
+        assertThat(e.getMessage(), is("Nesting exceeds 512 levels"));
+    }
+
+    @Test
+    void shouldRejectDeeplyNestedCauses() {
+        ThrowableProblem problem = Problem.builder().build();
+        for (int depth = 0; depth <= Utf8Reader.MAX_DEPTH; depth++) {
+            problem = Problem.builder().withCause(problem).build();
+        }
+        final ThrowableProblem deep = problem;
+
+        assertThrows(IllegalArgumentException.class, () -> unit.write(deep));
+    }
+
+    @Test
+    void shouldWriteStackTraces() {
+        final ThrowableProblem problem = Problem.builder().withStatus(BAD_REQUEST).build();
+        problem.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.example.Foo", "bar", "Foo.java", 42),
+                new StackTraceElement("org.example.Foo", "baz", "Foo.java", 7)});
+
+        assertThat(write(unit.withStackTraces(), problem), is("{\"status\":400,\"stacktrace\":[" +
+                "\"org.example.Foo.bar(Foo.java:42)\",\"org.example.Foo.baz(Foo.java:7)\"]}"));
+        assertThat(write(unit.withStackTraces().withStackTraces(false), problem), not(containsString("stacktrace")));
+    }
+
+    @Test
+    void shouldNotWriteEmptyStackTraces() {
+        final ThrowableProblem problem = Problem.builder().build();
+        problem.setStackTrace(new StackTraceElement[0]);
+
+        assertThat(write(unit.withStackTraces(), problem), is("{}"));
+    }
+
+    @Test
+    void shouldWriteStacklessProblemsSameAsJackson() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new ProblemModule().withStackTraces());
+
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Stackless")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+
+        assertThat(write(unit.withStackTraces(), problem), is(mapper.writeValueAsString(problem)));
+    }
+
+    @Test
+    void shouldWriteFingerprints() {
+        final ThrowableProblem problem = Problem.valueOf(BAD_REQUEST);
+
+        assertThat(write(unit.withFingerprints(), problem), is("{\"title\":\"Bad Request\",\"status\":400," +
+                "\"fingerprint\":\"" + Fingerprints.toString(problem.fingerprint()) + "\"}"));
+        assertThat(write(unit.withFingerprints(), Problem.builder().build()),
+                is("{\"fingerprint\":\"" + Fingerprints.toString(Problem.builder().build().fingerprint()) + "\"}"));
+        assertThat(write(unit.withFingerprints().withFingerprints(false), problem),
+                not(containsString("fingerprint")));
+    }
+
+    @Test
+    void shouldEncodeWithoutCopying() {
+        final ByteBuffer buffer = unit.encode(Problem.valueOf(NOT_FOUND));
+
+        assertThat(UTF_8.decode(buffer).toString(), is("{\"title\":\"Not Found\",\"status\":404}"));
+    }
+
+    @Test
+    void shouldReadStandardMembers() {
+        final ThrowableProblem problem = read("{\"type\":\"https://example.org/not-found\",\"title\":\"Not Found\"," +
+                "\"status\":404,\"detail\":\"Order 123\",\"instance\":\"https://example.org/orders/123\"}");
+
+        assertThat(problem, instanceOf(DefaultProblem.class));
+        assertThat(problem.getType(), is(URI.create("https://example.org/not-found")));
+        assertThat(problem.getTitle(), is("Not Found"));
+        assertThat(problem.getStatus(), is(NOT_FOUND));
+        assertThat(problem.getDetail(), is("Order 123"));
+        assertThat(problem.getInstance(), is(URI.create("https://example.org/orders/123")));
+        assertThat(problem.getCause(), is(nullValue()));
+    }
+
+    @Test
+    void shouldReadNullMembers() {
+        final ThrowableProblem problem = read("{\"type\":null,\"title\":null,\"status\":null,\"detail\":null," +
+                "\"instance\":null,\"cause\":null}");
+
+        assertThat(problem.getType(), is(Problem.DEFAULT_TYPE));
+        assertThat(problem.getTitle(), is(nullValue()));
+        assertThat(problem.getStatus(), is(nullValue()));
+        assertThat(problem.getDetail(), is(nullValue()));
+        assertThat(problem.getInstance(), is(nullValue()));
+        assertThat(problem.getCause(), is(nullValue()));
+        assertThat(problem.getParameters(), is(Collections.emptyMap()));
+    }
+
+    @Test
+    void shouldReadUnknownStatus() {
+        final StatusType status = read("{\"status\":499}").getStatus();
+
+        assertThat(status.getStatusCode(), is(499));
+    }
+
+    @Test
+    void shouldReadCustomStatus() {
+        final ProblemCodec codec = new ProblemCodec(CustomStatus.class);
+
+        assertThat(codec.read("{\"status\":200}".getBytes(UTF_8)).getStatus(), is(CustomStatus.OK));
+    }
+
+    @Test
+    void shouldRejectNonIntegerStatus() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"status\":\"404\"}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"status\":404.5}"));
+    }
+
+    @Test
+    void shouldReadCauses() {
+        final ThrowableProblem problem = read("{\"title\":\"Outer\",\"cause\":{\"title\":\"Inner\"}}");
+
+        assertThat(problem.getCause().getTitle(), is("Inner"));
+        assertThat(problem.getCause().getCause(), is(nullValue()));
+    }
+
+    @Test
+    void shouldRejectDeeplyNestedCausesWhenReading() {
+        final StringBuilder json = new StringBuilder();
+        for (int depth = 0; depth <= Utf8Reader.MAX_DEPTH; depth++) {
+            json.append("{\"cause\":");
+        }
+        json.append("{}");
+        for (int depth = 0; depth <= Utf8Reader.MAX_DEPTH; depth++) {
+            json.append('}');
+        }
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read(json.toString()));
+
+        assertThat(e.getMessage(), startsWith("Nesting exceeds 512 levels"));
+    }
+
+    @Test
+    void shouldReadParameters() {
+        final ThrowableProblem problem = read("{\"int\":1,\"long\":12345678901,\"double\":1.5," +
+                "\"list\":[\"a\",{\"b\":null}],\"boolean\":false}");
+
+        final Map<String, Object> parameters = problem.getParameters();
+        assertThat(parameters, is(aMapWithSize(5)));
+        assertThat(parameters, hasEntry("int", 1));
+        assertThat(parameters, hasEntry("long", 12345678901L));
+        assertThat(parameters, hasEntry("double", 1.5));
+        assertThat(parameters, hasEntry("list", Arrays.asList("a", Collections.singletonMap("b", null))));
+        assertThat(parameters, hasEntry("boolean", false));
+    }
+
+    @Test
+    void shouldSkipFingerprintsIfEnabled() {
+        final String json = "{\"title\":\"Bad Request\",\"fingerprint\":\"00000000000000ff\"}";
+
+        assertThat(unit.withFingerprints().read(json.getBytes(UTF_8)).getParameters(),
+                is(Collections.emptyMap()));
+        assertThat(read(json).getParameters(), hasEntry("fingerprint", "00000000000000ff"));
+    }
+
+    @Test
+    void shouldRoundTrip() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(URI.create("https://example.org/out-of-stock"))
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withDetail("Item B00027Y5QG is no longer available ☃")
+                .withInstance(URI.create("https://example.org/orders/123"))
+                .with("product", "B00027Y5QG")
+                .with("quantities", Arrays.asList(1, 2))
+                .withCause(Problem.valueOf(NOT_FOUND))
+                .build();
+
+        final ThrowableProblem copy = unit.read(unit.write(problem));
+
+        assertThat(write(copy), is(write(problem)));
+    }
+
+    @Test
+    void shouldRejectTrailingContent() {
+        assertThrows(IllegalArgumentException.class, () -> read("{} {}"));
+    }
+
+    @Test
+    void shouldRejectNonObjects() {
+        assertThrows(IllegalArgumentException.class, () -> read("[]"));
+    }
+
+    @Test
+    void shouldRejectInvalidUris() {
+        assertThrows(IllegalArgumentException.class, () -> read("{\"type\":\"not a uri\"}"));
+    }
+
+    @Test
+    void shouldReadRange() {
+        final byte[] json = "xx{\"title\":\"Range\"}yy".getBytes(UTF_8);
+
+        assertThat(unit.read(json, 2, json.length - 4).getTitle(), is("Range"));
+    }
+
+    @Test
+    void shouldRejectRangeOutOfBounds() {
+        final byte[] json = "{}".getBytes(UTF_8);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> unit.read(json, -1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> unit.read(json, 0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> unit.read(json, 1, 2));
+    }
+
+    @Test
+    void shouldDecodeHeapBuffer() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xx{\"title\":\"Heap\"}".getBytes(UTF_8));
+        buffer.position(1);
+        final ByteBuffer slice = buffer.slice();
+        slice.position(1);
+
+        assertThat(unit.decode(slice).getTitle(), is("Heap"));
+        assertThat(slice.hasRemaining(), is(false));
+    }
+
+    @Test
+    void shouldDecodeDirectBuffer() {
+        final byte[] json = "{\"title\":\"Direct\"}".getBytes(UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(json.length);
+        buffer.put(json).flip();
+
+        assertThat(unit.decode(buffer).getTitle(), is("Direct"));
+        assertThat(buffer.hasRemaining(), is(false));
+    }
+
+    @Test
+    void shouldNotAdvanceInvalidBuffer() {
+        final ByteBuffer buffer = ByteBuffer.wrap("{".getBytes(UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> unit.decode(buffer));
+        assertThat(buffer.position(), is(0));
+    }
+
+    @Test
+    void shouldDecodeEncoded() {
+        final ThrowableProblem problem = Problem.valueOf(NOT_FOUND);
+
+        assertThat(unit.decode(unit.encode(problem)).getStatus(), is(NOT_FOUND));
+    }
+
+    @Test
+    void shouldNotifyListener() {
+        final URI type = URI.create("https://example.org/" + UUID.randomUUID());
+        final ThrowableProblem problem = Problem.builder()
+                .withType(type)
+                .withCause(Problem.builder().withType(type).build())
+                .build();
+        final ProblemCodec codec = unit.withListener(new ProblemCounters());
+
+        codec.read(codec.write(problem));
+
+        assertThat(ProblemCounters.serialized().count(type), is(2L));
+        assertThat(ProblemCounters.deserialized().count(type), is(2L));
+    }
+
+    @Test
+    void shouldNotNotifyWithoutListener() {
+        final URI type = URI.create("https://example.org/" + UUID.randomUUID());
+        final ProblemCodec codec = unit.withListener(ProblemListener.DEFAULT);
+
+        codec.read(codec.write(Problem.builder().withType(type).build()));
+
+        assertThat(ProblemCounters.serialized().count(type), is(0L));
+        assertThat(ProblemCounters.deserialized().count(type), is(0L));
+    }
+
+    @Test
+    void shouldBeImmutable() {
+        assertThat(unit.withStackTraces(), not(sameInstance(unit)));
+        assertThat(unit.withFingerprints(), not(sameInstance(unit)));
+    }
+
+    private String write(final Problem problem) {
+        return write(unit, problem);
+    }
+
+    private static String write(final ProblemCodec codec, final Problem problem) {
+        return new String(codec.write(problem), UTF_8);
+    }
+
+    private ThrowableProblem read(final String json) {
+        return unit.read(json.getBytes(UTF_8));
+    }
+
+}
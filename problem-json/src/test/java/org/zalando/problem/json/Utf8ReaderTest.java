@@ -0,0 +1,289 @@
+package org.zalando.problem.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8ReaderTest {
+
+    @Test
+    void shouldReadObjects() {
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("a", 1);
+        expected.put("b", Arrays.asList(true, false, null));
+        expected.put("c", Collections.emptyMap());
+        expected.put("d", Collections.emptyList());
+
+        assertThat(value(" {\n\"a\" : 1 ,\t\"b\":[true,false,null],\r\"c\":{},\"d\":[]} "), is(expected));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"plain", "ä", "Ünïcödé", "€", "☃ snow", "\uD83D\uDE00", ""})
+    void shouldReadStrings(final String value) {
+        assertThat(value("\"" + value + "\""), is(value));
+    }
+
+    @Test
+    void shouldReadEscapes() {
+        assertThat(value("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e4\\u20AC\\ud83d\\ude00ä b\""),
+                is("\"\\/\b\f\n\r\t\u00e4\u20ac\uD83D\uDE00ä b"));
+    }
+
+    @Test
+    void shouldReadIntegers() {
+        assertThat(value("0"), is(0));
+        assertThat(value("-0"), is(0));
+        assertThat(value("2147483647"), is(Integer.MAX_VALUE));
+        assertThat(value("-2147483648"), is(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void shouldReadLongs() {
+        assertThat(value("2147483648"), is(2147483648L));
+        assertThat(value("999999999999999999"), is(999999999999999999L));
+        assertThat(value("9223372036854775807"), is(Long.MAX_VALUE));
+        assertThat(value("-9223372036854775808"), is(Long.MIN_VALUE));
+    }
+
+    @Test
+    void shouldReadBigIntegers() {
+        assertThat(value("9223372036854775808"), is(new BigInteger("9223372036854775808")));
+        assertThat(value("-9223372036854775809"), instanceOf(BigInteger.class));
+    }
+
+    @Test
+    void shouldReadDoubles() {
+        assertThat(value("1.5"), is(1.5));
+        assertThat(value("-0.25"), is(-0.25));
+        assertThat(value("1e3"), is(1000.0));
+        assertThat(value("1E+3"), is(1000.0));
+        assertThat(value("2.5e-1"), is(0.25));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-", "-a", "01", "1.", "1.e3", "1e", "1e+", ".5", "+1", "0x1"})
+    void shouldRejectInvalidNumbers(final String json) {
+        assertThrows(IllegalArgumentException.class, () -> value(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"tru", "nul", "fals", "trve", "nulL", "falsy", "x", "}", ""})
+    void shouldRejectInvalidValues(final String json) {
+        assertThrows(IllegalArgumentException.class, () -> value(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"abc", "\"a\\", "\"a\\\"", "\"\\u00", "\"\\u00g0\"", "\"\\x\"", "\"\t\"",
+            "\"\\n\t\"", "\"ä"})
+    void shouldRejectInvalidStrings(final String json) {
+        assertThrows(IllegalArgumentException.class, () -> value(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"22 c3 22", "22 e2 82 22", "22 ff 22", "22 c0 af 22", "22 ed a0 80 22", "22 c3 5c 6e 22",
+            "22 5c 6e e2 82 22"})
+    void shouldRejectMalformedUtf8(final String hex) {
+        final byte[] bytes = hex(hex);
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new Utf8Reader(bytes, 0, bytes.length).value(0));
+
+        assertThat(e.getMessage(), startsWith("Malformed UTF-8 at offset "));
+    }
+
+    @Test
+    void shouldPointAtMalformedUtf8() {
+        final byte[] bytes = hex("5b 22 c3 a4 c3 22 5d");
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new Utf8Reader(bytes, 0, bytes.length).value(0));
+
+        assertThat(e.getMessage(), is("Malformed UTF-8 at offset 4"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"a\" 1}", "{\"a\":1 \"b\":2}", "[1 2]", "{1:2}", "[1,]", "{", "["})
+    void shouldRejectInvalidStructure(final String json) {
+        assertThrows(IllegalArgumentException.class, () -> value(json));
+    }
+
+    @Test
+    void shouldPointAtOffset() {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> value("[1,x]"));
+
+        assertThat(e.getMessage(), is("Expected value at offset 3"));
+    }
+
+    @Test
+    void shouldRejectDeepNesting() {
+        final StringBuilder json = new StringBuilder();
+        for (int depth = 0; depth <= Utf8Reader.MAX_DEPTH; depth++) {
+            json.append('[');
+        }
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> value(json.toString()));
+
+        assertThat(e.getMessage(), is("Nesting exceeds 512 levels at offset 512"));
+    }
+
+    @Test
+    void shouldCacheNames() {
+        final String first = name("\"cached-name\":");
+        final String second = name("\"cached-name\":");
+
+        assertThat(second, is("cached-name"));
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a-name-that-is-too-long-to-be-cached", "ä", "escaped\\n"})
+    void shouldNotCacheNames(final String name) {
+        final String json = "\"" + name + "\":";
+
+        assertThat(name(json), is(not(sameInstance(name(json)))));
+    }
+
+    @Test
+    void shouldReplaceCollidingNames() {
+        // same hash code
+        assertThat(name("\"Aa\":"), is("Aa"));
+        assertThat(name("\"BB\":"), is("BB"));
+
+        final String longer = collision("x");
+        assertThat(name("\"" + longer + "\":"), is(longer));
+        assertThat(name("\"x\":"), is("x"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"name", "\"tab\t\":", "\"name\" 1"})
+    void shouldRejectInvalidNames(final String json) {
+        assertThrows(IllegalArgumentException.class, () -> name(json));
+    }
+
+    @Test
+    void shouldReadNull() {
+        final Utf8Reader unit = reader(" null");
+
+        assertThat(unit.nextNull(), is(true));
+        unit.end();
+    }
+
+    @Test
+    void shouldNotReadNonNull() {
+        final Utf8Reader unit = reader("\"null\"");
+
+        assertThat(unit.nextNull(), is(false));
+        assertThat(unit.string(), is("null"));
+    }
+
+    @Test
+    void shouldRejectNonStrings() {
+        assertThrows(IllegalArgumentException.class, () -> reader("1").string());
+    }
+
+    @Test
+    void shouldRejectNonObjects() {
+        assertThrows(IllegalArgumentException.class, () -> reader("[]").beginObject());
+    }
+
+    @Test
+    void shouldReadInteger() {
+        assertThat(reader("-42").integer(), is(-42));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"1\"", "1.0", "2147483648", "true"})
+    void shouldRejectNonIntegers(final String json) {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reader(json).integer());
+
+        assertThat(e.getMessage(), is("Expected integer at offset 0"));
+    }
+
+    @Test
+    void shouldRejectTrailingContent() {
+        final Utf8Reader unit = reader("null x");
+        unit.value(0);
+
+        assertThrows(IllegalArgumentException.class, unit::end);
+    }
+
+    @Test
+    void shouldReadRange() {
+        final byte[] bytes = "[1][2][3]".getBytes(UTF_8);
+        final Utf8Reader unit = new Utf8Reader(bytes, 3, 3);
+
+        assertThat(unit.value(0), is(Collections.singletonList(2)));
+        unit.end();
+    }
+
+    @Test
+    void shouldNotReadBeyondRange() {
+        final byte[] bytes = "\"abc\"".getBytes(UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Reader(bytes, 0, 4).value(0));
+        assertThat(new Utf8Reader("1234".getBytes(UTF_8), 0, 2).value(0), is(12));
+        assertThat(new Utf8Reader("null".getBytes(UTF_8), 0, 4).value(0), is(nullValue()));
+    }
+
+    private static Object value(final String json) {
+        final Utf8Reader reader = reader(json);
+        final Object value = reader.value(0);
+        reader.end();
+        return value;
+    }
+
+    private static String name(final String json) {
+        return reader(json).name();
+    }
+
+    private static String collision(final String name) {
+        final int slot = Utf8Reader.slot(name.hashCode());
+
+        for (char first = 'a'; ; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                for (char third = 'a'; third <= 'z'; third++) {
+                    final String candidate = new String(new char[]{first, second, third});
+
+                    if (Utf8Reader.slot(candidate.hashCode()) == slot) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] hex(final String hex) {
+        final String[] octets = hex.split(" ");
+        final byte[] bytes = new byte[octets.length];
+
+        for (int index = 0; index < octets.length; index++) {
+            bytes[index] = (byte) Integer.parseInt(octets[index], 16);
+        }
+
+        return bytes;
+    }
+
+    private static Utf8Reader reader(final String json) {
+        final byte[] bytes = json.getBytes(UTF_8);
+        return new Utf8Reader(bytes, 0, bytes.length);
+    }
+
+}
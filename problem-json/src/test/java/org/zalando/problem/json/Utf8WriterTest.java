@@ -0,0 +1,113 @@
+package org.zalando.problem.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8WriterTest {
+
+    private final Utf8Writer unit = new Utf8Writer(1);
+
+    @Test
+    void shouldWriteAsciiStrings() {
+        unit.string("Hello, World!");
+
+        assertThat(written(), is("\"Hello, World!\""));
+    }
+
+    @Test
+    void shouldEscapeStrings() {
+        unit.string("\"\\\b\f\n\r\t\u0000\u001f/ ~\u007f");
+
+        assertThat(written(), is("\"\\\"\\\\\\b\\f\\n\\r\\t\\u0000\\u001f/ ~\u007f\""));
+    }
+
+    @Test
+    void shouldEscapeLeadingCharacters() {
+        unit.string("\\");
+        unit.string("\u0001");
+
+        assertThat(written(), is("\"\\\\\"\"\\u0001\""));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ä", "Ünïcödé", "€", "☃ snow", "😀", "a😀b"})
+    void shouldEncodeMultiByteCharacters(final String value) {
+        unit.string(value);
+
+        assertThat(unit.toByteArray(), is(("\"" + value + "\"").getBytes(UTF_8)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\uD83D", "\uDE00", "\uD83Dx", "\uD83D\uD83D"})
+    void shouldReplaceUnpairedSurrogates(final String value) {
+        unit.string(value);
+
+        assertThat(unit.toByteArray(), is(("\"" + value + "\"").getBytes(UTF_8)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 7, -7, 1234567890, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE})
+    void shouldWriteLongs(final long value) {
+        unit.number(value);
+
+        assertThat(written(), is(Long.toString(value)));
+    }
+
+    @Test
+    void shouldWriteDoubles() {
+        unit.number(0.1);
+        unit.write(',');
+        unit.number(1e300);
+
+        assertThat(written(), is("0.1,1.0E300"));
+    }
+
+    @Test
+    void shouldWriteFloats() {
+        unit.number(0.1f);
+
+        assertThat(written(), is("0.1"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void shouldRejectNonFiniteDoubles(final double value) {
+        assertThrows(IllegalArgumentException.class, () -> unit.number(value));
+    }
+
+    @Test
+    void shouldRejectNonFiniteFloats() {
+        assertThrows(IllegalArgumentException.class, () -> unit.number(Float.NaN));
+    }
+
+    @Test
+    void shouldWriteRawBytes() {
+        unit.write("\"name\":".getBytes(UTF_8));
+        unit.plain("null");
+
+        assertThat(written(), is("\"name\":null"));
+    }
+
+    @Test
+    void shouldShareBuffer() {
+        unit.plain("true");
+
+        final ByteBuffer buffer = unit.toByteBuffer();
+
+        assertThat(buffer.remaining(), is(4));
+        assertThat(UTF_8.decode(buffer).toString(), is("true"));
+    }
+
+    private String written() {
+        return new String(unit.toByteArray(), UTF_8);
+    }
+
+}
@@ -2,10 +2,9 @@ package org.zalando.problem;
 
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.spi.ProblemListener;
 
 import java.net.URI;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -18,7 +17,12 @@ public abstract class AbstractThrowableProblem extends ThrowableProblem {
     private final StatusType status;
     private final String detail;
     private final URI instance;
-    private final Map<String, Object> parameters;
+
+    /**
+     * Immutable and replaced on {@link #set(String, Object) modification}, which allows {@link #getParameters()} to
+     * hand it out without wrapping it.
+     */
+    private Map<String, Object> parameters;
 
     protected AbstractThrowableProblem() {
         this(null);
@@ -77,13 +81,46 @@ public abstract class AbstractThrowableProblem extends ThrowableProblem {
             @Nullable final URI instance,
             @Nullable final ThrowableProblem cause,
             @Nullable final Map<String, Object> parameters) {
-        super(cause);
+        this(type, title, status, detail, instance, cause, parameters, StackTraces.isEnabled());
+    }
+
+    protected AbstractThrowableProblem(
+            @Nullable final URI type,
+            @Nullable final String title,
+            @Nullable final StatusType status,
+            @Nullable final String detail,
+            @Nullable final URI instance,
+            @Nullable final ThrowableProblem cause,
+            @Nullable final Map<String, Object> parameters,
+            final boolean stackTrace) {
+        this(type, title, status, detail, instance, cause, parameters, stackTrace, true);
+    }
+
+    /**
+     * @param notify whether to notify {@link ProblemListener listeners}, which is skipped for shared problems that are
+     *               reported whenever they are handed out instead
+     */
+    AbstractThrowableProblem(
+            @Nullable final URI type,
+            @Nullable final String title,
+            @Nullable final StatusType status,
+            @Nullable final String detail,
+            @Nullable final URI instance,
+            @Nullable final ThrowableProblem cause,
+            @Nullable final Map<String, Object> parameters,
+            final boolean stackTrace,
+            final boolean notify) {
+        super(cause, stackTrace);
         this.type = Optional.ofNullable(type).orElse(DEFAULT_TYPE);
         this.title = title;
         this.status = status;
         this.detail = detail;
         this.instance = instance;
-        this.parameters = Optional.ofNullable(parameters).orElseGet(LinkedHashMap::new);
+        this.parameters = ParameterMap.copyOf(parameters);
+
+        if (notify) {
+            ProblemListener.COMPOUND.onConstruct(this.type, status);
+        }
     }
 
     @Override
@@ -113,7 +150,7 @@ public abstract class AbstractThrowableProblem extends ThrowableProblem {
 
     @Override
     public Map<String, Object> getParameters() {
-        return Collections.unmodifiableMap(parameters);
+        return parameters;
     }
 
     /**
@@ -126,7 +163,8 @@ public abstract class AbstractThrowableProblem extends ThrowableProblem {
      */
     @API(status = INTERNAL)
     void set(final String key, final Object value) {
-        parameters.put(key, value);
+        parameters = ParameterMap.copyOf(parameters).with(key, value);
+        forgetRenderings();
     }
 
 }
@@ -27,7 +27,9 @@ public final class DefaultProblem extends AbstractThrowableProblem {
             @Nullable final String detail,
             @Nullable final URI instance,
             @Nullable final ThrowableProblem cause,
-            @Nullable final Map<String, Object> parameters) {
-        super(type, title, status, detail, instance, cause, parameters);
+            @Nullable final Map<String, Object> parameters,
+            final boolean stackTrace,
+            final boolean notify) {
+        super(type, title, status, detail, instance, cause, parameters, stackTrace, notify);
     }
 }
@@ -2,6 +2,7 @@ package org.zalando.problem;
 
 import org.apiguardian.api.API;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -23,6 +24,19 @@ public interface Exceptional extends Problem {
 
     Exceptional getCause();
 
+    /**
+     * A stable hash of this problem's type, status and top stack frames, e.g. to group and deduplicate problems that
+     * were caused by the same code path. Unlike {@link Object#hashCode()} it's consistent across JVM restarts.
+     * {@link ThrowableProblem} computes it once, on first use.
+     *
+     * @return this problem's fingerprint
+     * @see Fingerprints
+     */
+    @API(status = EXPERIMENTAL)
+    default long fingerprint() {
+        return Fingerprints.of(this, ((Throwable) this).getStackTrace());
+    }
+
     default Exception propagate() throws Exception {
         throw propagateAs(Exception.class);
     }
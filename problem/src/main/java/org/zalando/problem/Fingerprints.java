@@ -0,0 +1,94 @@
+package org.zalando.problem;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Computes {@link Exceptional#fingerprint() fingerprints}, i.e. 64-bit
+ * <a href="http://www.isthe.com/chongo/tech/comp/fnv/">FNV-1a</a> hashes of a problem's type, status and the top
+ * {@value #DEPTH} frames of its stack trace. The hash only depends on characters and numbers, which makes it stable
+ * across JVM restarts, in contrast to {@link Object#hashCode()}.
+ *
+ * <p>Frames are normalized to their class and method name, since line numbers shift with unrelated changes. Class names
+ * are cut off at {@code $$}, which is where generated classes, e.g. lambdas and proxies, append their varying
+ * suffixes.</p>
+ */
+@API(status = EXPERIMENTAL)
+public final class Fingerprints {
+
+    /**
+     * The number of top frames that make up a fingerprint.
+     */
+    public static final int DEPTH = 8;
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private static final char SEPARATOR = '\n';
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    Fingerprints() throws Exception {
+        throw new IllegalAccessException();
+    }
+
+    static long of(final Problem problem, final StackTraceElement[] stackTrace) {
+        final String type = problem.getType().toString();
+        long hash = hash(OFFSET_BASIS, type, type.length());
+
+        @Nullable final StatusType status = problem.getStatus();
+        hash = hash(hash, status == null ? 0 : status.getStatusCode());
+
+        for (int index = 0; index < Math.min(DEPTH, stackTrace.length); index++) {
+            final StackTraceElement element = stackTrace[index];
+            final String className = element.getClassName();
+            final int generated = className.indexOf("$$");
+
+            hash = hash(hash, SEPARATOR);
+            hash = hash(hash, className, generated < 0 ? className.length() : generated);
+            hash = hash(hash, '#');
+            hash = hash(hash, element.getMethodName(), element.getMethodName().length());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Renders a fingerprint as 16 lower-case hex digits, which is how the JSON bindings emit it. JSON numbers can't
+     * represent all 64-bit values precisely in every parser.
+     *
+     * @param fingerprint the fingerprint
+     * @return the fingerprint as a fixed-length hex string
+     */
+    public static String toString(final long fingerprint) {
+        final char[] chars = new char[16];
+
+        for (int index = chars.length - 1, shift = 0; index >= 0; index--, shift += 4) {
+            chars[index] = DIGITS[(int) (fingerprint >>> shift) & 0xf];
+        }
+
+        return new String(chars);
+    }
+
+    private static long hash(long hash, final String value, final int length) {
+        for (int index = 0; index < length; index++) {
+            hash = hash(hash, value.charAt(index));
+        }
+        return hash;
+    }
+
+    private static long hash(final long hash, final char value) {
+        return octet(octet(hash, value), value >>> 8);
+    }
+
+    private static long hash(final long hash, final int value) {
+        return octet(octet(octet(octet(hash, value), value >>> 8), value >>> 16), value >>> 24);
+    }
+
+    private static long octet(final long hash, final int value) {
+        return (hash ^ (value & 0xff)) * PRIME;
+    }
+
+}
@@ -1,7 +1,28 @@
 package org.zalando.problem;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 final class GenericProblems {
 
+    /**
+     * Pre-built problems for all {@link Status statuses}, indexed by {@link Status#ordinal() ordinal}.
+     */
+    private static final ThrowableProblem[] STATUSES = Arrays.stream(Status.values())
+            .map(GenericProblems::prebuild)
+            .toArray(ThrowableProblem[]::new);
+
+    /**
+     * Pre-built problems for custom status enums. Non-enum status types are not cached, since there is no upper bound
+     * on the number of their instances.
+     */
+    private static final ConcurrentMap<StatusType, ThrowableProblem> CUSTOM = new ConcurrentHashMap<>();
+
     GenericProblems() throws Exception {
         throw new IllegalAccessException();
     }
@@ -12,4 +33,33 @@ final class GenericProblems {
                 .withStatus(status);
     }
 
+    static ThrowableProblem valueOf(final StatusType status, @Nullable final String detail,
+            @Nullable final URI instance) {
+
+        if (detail == null && instance == null) {
+            if (status instanceof Status) {
+                return handOut(STATUSES[((Status) status).ordinal()]);
+            } else if (status instanceof Enum) {
+                return handOut(CUSTOM.computeIfAbsent(status, GenericProblems::prebuild));
+            }
+        }
+
+        return create(status).withDetail(detail).withInstance(instance).build();
+    }
+
+    /**
+     * Pre-built problems are stackless, which not only saves the stack capture but also makes them safe to be thrown
+     * concurrently, since neither their stack trace nor their suppressed exceptions can be modified. They are not
+     * reported to {@link ProblemListener listeners} when being built, which would happen during class initialization,
+     * but whenever they are {@link #handOut(ThrowableProblem) handed out}.
+     */
+    private static ThrowableProblem prebuild(final StatusType status) {
+        return new DefaultProblem(null, status.getReasonPhrase(), status, null, null, null, null, false, false);
+    }
+
+    private static ThrowableProblem handOut(final ThrowableProblem problem) {
+        ProblemListener.COMPOUND.onConstruct(problem.getType(), problem.getStatus());
+        return problem;
+    }
+
 }
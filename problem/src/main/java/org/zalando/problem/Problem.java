@@ -6,10 +6,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.joining;
 import static org.apiguardian.api.API.Status.STABLE;
 
 /**
@@ -92,22 +89,29 @@ public interface Problem {
         return new ProblemBuilder();
     }
 
+    /**
+     * Creates a generic problem for the given status. Problems without detail and instance are immutable, stackless
+     * and shared for all {@link Enum enum} based {@link StatusType status types}, i.e. they are created only once.
+     *
+     * @param status the status
+     * @return a generic problem
+     */
     static ThrowableProblem valueOf(final StatusType status) {
-        return GenericProblems.create(status).build();
+        return GenericProblems.valueOf(status, null, null);
     }
 
     static ThrowableProblem valueOf(final StatusType status, @Nullable final String detail) {
-        return GenericProblems.create(status).withDetail(detail).build();
+        return GenericProblems.valueOf(status, detail, null);
     }
 
     static ThrowableProblem valueOf(final StatusType status, @Nullable final URI instance) {
-        return GenericProblems.create(status).withInstance(instance).build();
+        return GenericProblems.valueOf(status, null, instance);
     }
 
     static ThrowableProblem valueOf(final StatusType status,
                                     @Nullable final String detail,
                                     @Nullable final URI instance) {
-        return GenericProblems.create(status).withDetail(detail).withInstance(instance).build();
+        return GenericProblems.valueOf(status, detail, instance);
     }
 
     /**
@@ -144,18 +148,45 @@ public interface Problem {
      * @see Problem#valueOf(StatusType, String, URI)
      */
     static String toString(final Problem problem) {
-        final Stream<String> parts = Stream.concat(
-                Stream.of(
-                        problem.getStatus() == null ? null : String.valueOf(problem.getStatus().getStatusCode()),
-                        problem.getTitle(),
-                        problem.getDetail(),
-                        problem.getInstance() == null ? null : "instance=" + problem.getInstance()),
-                problem.getParameters()
-                        .entrySet().stream()
-                        .map(Map.Entry::toString))
-                .filter(Objects::nonNull);
-
-        return problem.getType().toString() + "{" + parts.collect(joining(", ")) + "}";
+        final String type = problem.getType().toString();
+        @Nullable final StatusType status = problem.getStatus();
+        @Nullable final String title = problem.getTitle();
+        @Nullable final String detail = problem.getDetail();
+        @Nullable final URI instance = problem.getInstance();
+        final Map<String, Object> parameters = problem.getParameters();
+
+        // a rough estimate that avoids resizing in most cases
+        final StringBuilder builder = new StringBuilder(type.length() + 16
+                + (title == null ? 0 : title.length())
+                + (detail == null ? 0 : detail.length())
+                + (instance == null ? 0 : 64)
+                + parameters.size() * 32);
+
+        builder.append(type).append('{');
+        String separator = "";
+
+        if (status != null) {
+            builder.append(status.getStatusCode());
+            separator = ", ";
+        }
+        if (title != null) {
+            builder.append(separator).append(title);
+            separator = ", ";
+        }
+        if (detail != null) {
+            builder.append(separator).append(detail);
+            separator = ", ";
+        }
+        if (instance != null) {
+            builder.append(separator).append("instance=").append(instance);
+            separator = ", ";
+        }
+        for (final Map.Entry<String, Object> entry : parameters.entrySet()) {
+            builder.append(separator).append(entry.getKey()).append('=').append(entry.getValue());
+            separator = ", ";
+        }
+
+        return builder.append('}').toString();
     }
 
 }
@@ -5,19 +5,17 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.net.URI;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 @API(status = STABLE)
 public final class ProblemBuilder {
 
-    private static final Set<String> RESERVED_PROPERTIES = new HashSet<>(Arrays.asList(
-            "type", "title", "status", "detail", "instance", "cause"
-    ));
+    private static final String[] NO_KEYS = {};
+    private static final Object[] NO_VALUES = {};
 
     private URI type;
     private String title;
@@ -25,7 +23,18 @@ public final class ProblemBuilder {
     private String detail;
     private URI instance;
     private ThrowableProblem cause;
-    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private boolean stackTrace = true;
+
+    /**
+     * Parameters are collected in the same parallel arrays that back the {@link ParameterMap} of the built problem,
+     * which allows {@link #build()} to hand them over without copying, once they are trimmed to {@link #size}, so that
+     * built problems neither retain nor serialize unused capacity. Once handed over, the arrays are {@link #shared}
+     * and must be copied before being modified.
+     */
+    private String[] keys = NO_KEYS;
+    private Object[] values = NO_VALUES;
+    private int size;
+    private boolean shared;
 
     /**
      * @see Problem#builder()
@@ -64,23 +73,135 @@ public final class ProblemBuilder {
         return this;
     }
 
+    /**
+     * Skips capturing a stack trace for the problem to be built, regardless of {@link StackTraces#isEnabled()}.
+     *
+     * @return this for chaining
+     */
+    public ProblemBuilder withoutStackTrace() {
+        this.stackTrace = false;
+        return this;
+    }
+
     /**
      *
      * @param key property name
      * @param value property value
      * @return this for chaining
-     * @throws IllegalArgumentException if key is any of type, title, status, detail or instance
+     * @throws IllegalArgumentException if key is any of type, title, status, detail, instance or cause
      */
     public ProblemBuilder with(final String key, @Nullable final Object value) throws IllegalArgumentException {
-        if (RESERVED_PROPERTIES.contains(key)) {
-            throw new IllegalArgumentException("Property " + key + " is reserved");
+        checkNotReserved(key);
+        put(key, value);
+        return this;
+    }
+
+    /**
+     * Adds all given parameters, in their iteration order.
+     *
+     * @param parameters property names and values
+     * @return this for chaining
+     * @throws IllegalArgumentException if any key is any of type, title, status, detail, instance or cause
+     */
+    @API(status = EXPERIMENTAL)
+    public ProblemBuilder with(final Map<String, ?> parameters) throws IllegalArgumentException {
+        for (final String key : parameters.keySet()) {
+            checkNotReserved(key);
+        }
+
+        ensureCapacity(size + parameters.size());
+
+        for (final Map.Entry<String, ?> entry : parameters.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+
+        return this;
+    }
+
+    /**
+     * Resets this builder to its initial state, which allows to reuse it for any number of problems. Problems that
+     * were built before are not affected.
+     *
+     * @return this for chaining
+     */
+    @API(status = EXPERIMENTAL)
+    public ProblemBuilder reset() {
+        type = null;
+        title = null;
+        status = null;
+        detail = null;
+        instance = null;
+        cause = null;
+        stackTrace = true;
+
+        if (shared) {
+            keys = NO_KEYS;
+            values = NO_VALUES;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
         }
-        parameters.put(key, value);
+        size = 0;
+
         return this;
     }
 
     public ThrowableProblem build() {
-        return new DefaultProblem(type, title, status, detail, instance, cause, new LinkedHashMap<>(parameters));
+        if (size > 0 && keys.length > size) {
+            keys = Arrays.copyOf(keys, size);
+            values = Arrays.copyOf(values, size);
+        }
+
+        shared = size > 0;
+        return new DefaultProblem(type, title, status, detail, instance, cause,
+                ParameterMap.wrap(keys, values, size), stackTrace && StackTraces.isEnabled(), true);
+    }
+
+    private static void checkNotReserved(final String key) throws IllegalArgumentException {
+        if (key == null) {
+            return;
+        }
+
+        switch (key) {
+            case "type":
+            case "title":
+            case "status":
+            case "detail":
+            case "instance":
+            case "cause":
+                throw new IllegalArgumentException("Property " + key + " is reserved");
+            default:
+                // not reserved
+        }
+    }
+
+    private void put(final String key, @Nullable final Object value) {
+        for (int index = 0; index < size; index++) {
+            if (Objects.equals(keys[index], key)) {
+                if (shared) {
+                    keys = keys.clone();
+                    values = values.clone();
+                    shared = false;
+                }
+                values[index] = value;
+                return;
+            }
+        }
+
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        values[size] = value;
+        size++;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > keys.length) {
+            final int length = Math.max(capacity, Math.max(4, keys.length * 2));
+            keys = Arrays.copyOf(keys, length);
+            values = Arrays.copyOf(values, length);
+            shared = false;
+        }
     }
 
 }
@@ -0,0 +1,162 @@
+package org.zalando.problem;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.spi.ProblemListener;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link ProblemListener} that counts problems by {@link Problem#getType() type} and by
+ * {@link StatusType#getStatusCode() status}, using a {@link LongAdder} per counter. Counters are global, since
+ * listeners may be instantiated by the {@link java.util.ServiceLoader}. Register it by adding
+ * {@code org.zalando.problem.ProblemCounters} to {@code META-INF/services/org.zalando.problem.spi.ProblemListener}
+ * or by {@link org.zalando.problem.spi.ProblemListeners#initialize(ProblemListener...) initializing} listeners
+ * explicitly.
+ */
+@API(status = EXPERIMENTAL)
+public final class ProblemCounters implements ProblemListener {
+
+    private static final Counters CONSTRUCTED = new Counters();
+    private static final Counters SERIALIZED = new Counters();
+    private static final Counters DESERIALIZED = new Counters();
+
+    public static Counters constructed() {
+        return CONSTRUCTED;
+    }
+
+    public static Counters serialized() {
+        return SERIALIZED;
+    }
+
+    public static Counters deserialized() {
+        return DESERIALIZED;
+    }
+
+    @Override
+    public void onConstruct(final URI type, @Nullable final StatusType status) {
+        CONSTRUCTED.increment(type, status);
+    }
+
+    @Override
+    public void onSerialize(final Problem problem) {
+        SERIALIZED.increment(problem);
+    }
+
+    @Override
+    public void onDeserialize(final Problem problem) {
+        DESERIALIZED.increment(problem);
+    }
+
+    public static final class Counters {
+
+        private static final int STATUSES = 1000;
+
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentMap<URI, LongAdder> types = new ConcurrentHashMap<>();
+
+        /**
+         * Status counters are indexed by status code, which avoids boxing. Codes outside of the array are counted in
+         * {@link #otherStatuses}.
+         */
+        private final AtomicReferenceArray<LongAdder> statuses = new AtomicReferenceArray<>(STATUSES);
+        private final ConcurrentMap<Integer, LongAdder> otherStatuses = new ConcurrentHashMap<>();
+
+        Counters() {
+
+        }
+
+        void increment(final Problem problem) {
+            increment(problem.getType(), problem.getStatus());
+        }
+
+        /**
+         * Custom {@link Problem} implementations may not have a type, which is counted as {@link Problem#DEFAULT_TYPE}.
+         */
+        void increment(@Nullable final URI type, @Nullable final StatusType status) {
+            total.increment();
+            counter(types, type == null ? Problem.DEFAULT_TYPE : type).increment();
+
+            if (status != null) {
+                counter(status.getStatusCode()).increment();
+            }
+        }
+
+        private LongAdder counter(final int status) {
+            if (status < 0 || status >= STATUSES) {
+                return counter(otherStatuses, status);
+            }
+
+            @Nullable final LongAdder counter = statuses.get(status);
+
+            if (counter != null) {
+                return counter;
+            }
+
+            statuses.compareAndSet(status, null, new LongAdder());
+            return statuses.get(status);
+        }
+
+        private static <K> LongAdder counter(final ConcurrentMap<K, LongAdder> counters, final K key) {
+            @Nullable final LongAdder counter = counters.get(key);
+            return counter == null ? counters.computeIfAbsent(key, k -> new LongAdder()) : counter;
+        }
+
+        public long total() {
+            return total.sum();
+        }
+
+        public long count(final URI type) {
+            return sum(types.get(type));
+        }
+
+        public long count(final int status) {
+            return sum(status < 0 || status >= STATUSES ? otherStatuses.get(status) : statuses.get(status));
+        }
+
+        /**
+         * @return a snapshot of all counts by problem type
+         */
+        public Map<URI, Long> byType() {
+            return Collections.unmodifiableMap(copy(types));
+        }
+
+        /**
+         * @return a snapshot of all counts by status code, in ascending order
+         */
+        public Map<Integer, Long> byStatus() {
+            final Map<Integer, Long> snapshot = copy(otherStatuses);
+
+            for (int status = 0; status < STATUSES; status++) {
+                final long count = sum(statuses.get(status));
+
+                if (count > 0) {
+                    snapshot.put(status, count);
+                }
+            }
+
+            return Collections.unmodifiableMap(snapshot);
+        }
+
+        private static <K> Map<K, Long> copy(final Map<K, LongAdder> counters) {
+            final Map<K, Long> copy = new TreeMap<>();
+            counters.forEach((key, counter) -> copy.put(key, counter.sum()));
+            return copy;
+        }
+
+        private static long sum(@Nullable final LongAdder counter) {
+            return counter == null ? 0 : counter.sum();
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.zalando.problem;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.spi.StackTraceProcessor;
+
+/**
+ * A bounded cache of processed stack traces, keyed by call site, i.e. by the class, method and line of the top
+ * {@value #FRAMES} frames and the depth of the raw stack trace. Problems that are thrown from the same call site end up
+ * with the same processed stack trace array, instead of processing and retaining their own. Frames further down are not
+ * compared, i.e. call paths that only differ below the top frames share the stack trace that was processed first.
+ *
+ * <p>The cache is direct-mapped: every call site has exactly one slot, determined by its hash code, and a new entry
+ * simply replaces whatever occupied its slot before. Call sites that share a slot are told apart by comparing their
+ * top frames, line numbers first. Entries are immutable, which is why the array doesn't need any synchronization.</p>
+ */
+final class StackTraceCache {
+
+    static final int FRAMES = 16;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    StackTraceCache(final int capacity) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but was " + capacity);
+        }
+        final int size = Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1);
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * @param raw       the raw stack trace, which is not modified
+     * @param processor the processor to use on a cache miss
+     * @return the processed stack trace, which must not be modified
+     */
+    StackTraceElement[] process(final StackTraceElement[] raw, final StackTraceProcessor processor) {
+        final int hash = hash(raw);
+        final int index = (hash ^ (hash >>> 16)) & mask;
+
+        @Nullable final Entry entry = entries[index];
+
+        if (entry != null && entry.processor == processor && sameCallSite(entry.raw, raw)) {
+            return entry.processed;
+        }
+
+        // processors may modify the array they are given
+        final StackTraceElement[] processed = processor.process(raw.clone());
+        entries[index] = new Entry(processor, raw, processed);
+        return processed;
+    }
+
+    /**
+     * Strings cache their hash codes and the class and method names of a frame are usually the same instances every
+     * time it's captured, i.e. this boils down to a few multiplications per frame.
+     */
+    private static int hash(final StackTraceElement[] raw) {
+        int hash = raw.length;
+
+        for (int index = 0; index < Math.min(FRAMES, raw.length); index++) {
+            final StackTraceElement element = raw[index];
+            hash = 31 * hash + element.getClassName().hashCode();
+            hash = 31 * hash + element.getMethodName().hashCode();
+            hash = 31 * hash + element.getLineNumber();
+        }
+
+        return hash;
+    }
+
+    private static boolean sameCallSite(final StackTraceElement[] left, final StackTraceElement[] right) {
+        if (left.length != right.length) {
+            return false;
+        }
+
+        for (int index = 0; index < Math.min(FRAMES, left.length); index++) {
+            final StackTraceElement first = left[index];
+            final StackTraceElement second = right[index];
+
+            if (first.getLineNumber() != second.getLineNumber()
+                    || !first.getMethodName().equals(second.getMethodName())
+                    || !first.getClassName().equals(second.getClassName())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class Entry {
+
+        /**
+         * Processors can be {@link org.zalando.problem.spi.StackTraceProcessors#initialize(StackTraceProcessor...)
+         * replaced} at runtime, which invalidates all entries that were processed by a different one.
+         */
+        private final StackTraceProcessor processor;
+        private final StackTraceElement[] raw;
+        private final StackTraceElement[] processed;
+
+        private Entry(final StackTraceProcessor processor, final StackTraceElement[] raw,
+                final StackTraceElement[] processed) {
+            this.processor = processor;
+            this.raw = raw;
+            this.processed = processed;
+        }
+
+    }
+
+}
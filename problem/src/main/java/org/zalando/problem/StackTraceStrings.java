@@ -0,0 +1,112 @@
+package org.zalando.problem;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Renders {@link StackTraceElement stack trace elements} for serialization, e.g. the {@code stacktrace} member of a
+ * problem. The same frames are rendered over and over again, since problems tend to be thrown from the same call paths,
+ * which is why the rendered strings are cached. The cache holds at most {@value #DEFAULT_CAPACITY} strings by
+ * default, rounded up to the next power of two. The initial capacity can be set using the {@value #PROPERTY} system
+ * property, where anything but a positive number disables the cache.
+ *
+ * <p>The cache is direct-mapped, the same as the {@link StackTraces#enableCache(int) stack trace cache}: every
+ * element has exactly one slot, determined by its hash code, and a new entry simply replaces whatever occupied its
+ * slot before. Entries are immutable, which is why the array doesn't need any synchronization.</p>
+ */
+@API(status = EXPERIMENTAL)
+public final class StackTraceStrings {
+
+    public static final String PROPERTY = "org.zalando.problem.stack-trace-strings";
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    @Nullable
+    private static volatile StackTraceStrings cache = create(Integer.getInteger(PROPERTY, DEFAULT_CAPACITY));
+
+    private final Entry[] entries;
+    private final int mask;
+
+    StackTraceStrings(final int capacity) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but was " + capacity);
+        }
+        final int size = Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1);
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param element the stack trace element
+     * @return the same as {@link StackTraceElement#toString()}, but possibly cached
+     */
+    public static String toString(final StackTraceElement element) {
+        @Nullable final StackTraceStrings cache = StackTraceStrings.cache;
+        return cache == null ? element.toString() : cache.render(element);
+    }
+
+    /**
+     * Caches at most the given number of rendered stack trace elements, rounded up to the next power of two. Whenever
+     * a new element collides with a cached one, it replaces it.
+     *
+     * @param capacity the maximum number of cached strings
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public static void enableCache(final int capacity) throws IllegalArgumentException {
+        cache = new StackTraceStrings(capacity);
+    }
+
+    /**
+     * Renders every stack trace element on its own.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    @Nullable
+    static StackTraceStrings create(final int capacity) {
+        return capacity < 1 ? null : new StackTraceStrings(capacity);
+    }
+
+    @Nullable
+    static StackTraceStrings cache() {
+        return cache;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    String render(final StackTraceElement element) {
+        final int hash = element.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & mask;
+
+        @Nullable final Entry entry = entries[index];
+
+        // elements are shared between problems, e.g. by the stack trace cache, which makes identity the common case
+        if (entry != null && (entry.element == element || entry.hash == hash && entry.element.equals(element))) {
+            return entry.string;
+        }
+
+        final String string = element.toString();
+        entries[index] = new Entry(element, hash, string);
+        return string;
+    }
+
+    private static final class Entry {
+
+        private final StackTraceElement element;
+        private final int hash;
+        private final String string;
+
+        private Entry(final StackTraceElement element, final int hash, final String string) {
+            this.element = element;
+            this.hash = hash;
+            this.string = string;
+        }
+
+    }
+
+}
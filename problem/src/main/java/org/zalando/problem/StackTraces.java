@@ -0,0 +1,104 @@
+package org.zalando.problem;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Global switch for stack trace capturing of {@link ThrowableProblem problems}. Problems that are created without an
+ * explicit choice, e.g. by {@link Problem#builder()}, capture a stack trace unless it was disabled here. The initial
+ * value can be set using the {@value #PROPERTY} system property.
+ *
+ * <p>By default the stack trace is captured by {@link Throwable#fillInStackTrace()}, i.e. the complete stack is
+ * recorded. Alternatively {@link #useStackWalker(int, String...)} captures only the top frames using a
+ * {@link StackWalker}, which is considerably cheaper for deep stacks.</p>
+ *
+ * @see ThrowableProblem#ThrowableProblem(ThrowableProblem, boolean)
+ * @see ProblemBuilder#withoutStackTrace()
+ */
+@API(status = EXPERIMENTAL)
+public final class StackTraces {
+
+    public static final String PROPERTY = "org.zalando.problem.stack-traces";
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty(PROPERTY, "true"));
+
+    @Nullable
+    private static volatile StackWalkerCapture walker;
+
+    @Nullable
+    private static volatile StackTraceCache cache;
+
+    StackTraces() throws Exception {
+        throw new IllegalAccessException();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        setEnabled(true);
+    }
+
+    public static void disable() {
+        setEnabled(false);
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        StackTraces.enabled = enabled;
+    }
+
+    /**
+     * Captures stack traces using a {@link StackWalker} that stops after the given number of frames. Frames of
+     * classes that start with any of the given prefixes are skipped while walking and don't count towards the depth.
+     * {@link org.zalando.problem.spi.StackTraceProcessor Stack trace processors} still apply to the captured frames.
+     *
+     * @param depth        the maximum number of frames to capture
+     * @param skipPrefixes class name prefixes of frames to skip, e.g. {@code "org.springframework."}
+     * @throws IllegalArgumentException if depth is not positive
+     */
+    public static void useStackWalker(final int depth, final String... skipPrefixes) throws IllegalArgumentException {
+        walker = new StackWalkerCapture(depth, skipPrefixes);
+    }
+
+    /**
+     * Captures complete stack traces using {@link Throwable#fillInStackTrace()}, which is the default.
+     */
+    public static void useThrowable() {
+        walker = null;
+    }
+
+    @Nullable
+    static StackWalkerCapture walker() {
+        return walker;
+    }
+
+    /**
+     * Shares processed stack traces between problems that were created at the same call site, i.e. with the same top
+     * frames at the same depth. This saves processing them over and over again and lets all of these problems retain
+     * the same array of {@link StackTraceElement stack trace elements}. The cache holds at most the given number of
+     * stack traces, rounded up to the next power of two. Whenever a new stack trace collides with a cached one, it
+     * replaces it.
+     *
+     * @param capacity the maximum number of cached stack traces
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public static void enableCache(final int capacity) throws IllegalArgumentException {
+        cache = new StackTraceCache(capacity);
+    }
+
+    /**
+     * Processes every stack trace on its own, which is the default.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    @Nullable
+    static StackTraceCache cache() {
+        return cache;
+    }
+
+}
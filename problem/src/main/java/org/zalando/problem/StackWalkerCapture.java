@@ -0,0 +1,65 @@
+package org.zalando.problem;
+
+import java.lang.StackWalker.StackFrame;
+import java.util.stream.Stream;
+
+import static java.lang.StackWalker.Option.RETAIN_CLASS_REFERENCE;
+
+/**
+ * Captures stack traces using a {@link StackWalker}. Only the frames that are actually needed get materialized as
+ * {@link StackTraceElement stack trace elements}: frames of skipped packages are dropped while walking and the walk
+ * stops as soon as enough frames were collected.
+ */
+final class StackWalkerCapture {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(RETAIN_CLASS_REFERENCE);
+
+    private final int depth;
+    private final String[] skipPrefixes;
+
+    StackWalkerCapture(final int depth, final String... skipPrefixes) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive, but was " + depth);
+        }
+        this.depth = depth;
+        this.skipPrefixes = skipPrefixes.clone();
+    }
+
+    StackTraceElement[] capture() {
+        return WALKER.walk(this::capture);
+    }
+
+    private StackTraceElement[] capture(final Stream<StackFrame> frames) {
+        return frames
+                .dropWhile(StackWalkerCapture::isCapturing)
+                .filter(frame -> !isSkipped(frame.getClassName()))
+                .limit(depth)
+                .map(StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new);
+    }
+
+    /**
+     * Mimics the JVM, which omits the frames that fill in the stack trace and construct the throwable.
+     */
+    private static boolean isCapturing(final StackFrame frame) {
+        final Class<?> type = frame.getDeclaringClass();
+
+        if (type == StackWalkerCapture.class) {
+            return true;
+        }
+
+        final String name = frame.getMethodName();
+        return Throwable.class.isAssignableFrom(type) &&
+                ("<init>".equals(name) || "fillInStackTrace".equals(name));
+    }
+
+    private boolean isSkipped(final String className) {
+        for (final String prefix : skipPrefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -4,13 +4,6 @@ import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Map;
-
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toMap;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 /**
@@ -357,8 +350,7 @@ public enum Status implements StatusType {
      */
     NETWORK_AUTHENTICATION_REQUIRED(511, "Network Authentication Required");
 
-    private static final Map<Integer, Status> STATUSES = Arrays.stream(values())
-            .collect(collectingAndThen(toMap(Status::getStatusCode, identity()), Collections::unmodifiableMap));
+    private static final StatusRegistry REGISTRY = StatusRegistry.of(Status.class);
 
     private final int code;
     private final String reason;
@@ -407,7 +399,7 @@ public enum Status implements StatusType {
      * @throws IllegalArgumentException if the given code does not correspond to a known HTTP status.
      */
     public static Status valueOf(final int code) {
-        @Nullable final Status status = STATUSES.get(code);
+        @Nullable final Status status = (Status) REGISTRY.find(code);
 
         if (status == null) {
             throw new IllegalArgumentException("There is no known status for this code (" + code + ").");
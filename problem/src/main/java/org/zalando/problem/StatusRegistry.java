@@ -0,0 +1,113 @@
+package org.zalando.problem;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An immutable index of {@link StatusType status types} by {@link StatusType#getStatusCode() status code}. Codes
+ * between {@value #MIN} and {@value #MAX} are looked up in a dense array, i.e. without boxing or hashing. Any other
+ * code falls back to a map.
+ */
+@API(status = EXPERIMENTAL)
+public final class StatusRegistry {
+
+    private static final int MIN = 100;
+    private static final int MAX = 999;
+
+    private final StatusType[] statuses;
+    private final Map<Integer, StatusType> fallback;
+
+    /**
+     * Lazily created {@link UnknownStatus unknown statuses} for unregistered codes within the array range. Races are
+     * benign, since unknown statuses are immutable and interchangeable.
+     */
+    private final StatusType[] unknown = new StatusType[MAX - MIN + 1];
+
+    private StatusRegistry(final StatusType[] statuses, final Map<Integer, StatusType> fallback) {
+        this.statuses = statuses;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a registry of all constants of the given status type enums.
+     *
+     * @param <E>   generic enum type
+     * @param types status type enums
+     * @return a new registry
+     * @throws IllegalArgumentException if there are duplicate status codes across all status types
+     */
+    @SafeVarargs
+    public static <E extends Enum<?> & StatusType> StatusRegistry of(final Class<? extends E>... types)
+            throws IllegalArgumentException {
+
+        final StatusType[] statuses = new StatusType[MAX - MIN + 1];
+        final Map<Integer, StatusType> fallback = new HashMap<>();
+
+        for (final Class<? extends E> type : types) {
+            for (final E status : type.getEnumConstants()) {
+                final int code = status.getStatusCode();
+
+                if (isIndexed(code)) {
+                    if (statuses[code - MIN] != null) {
+                        throw duplicate();
+                    }
+                    statuses[code - MIN] = status;
+                } else if (fallback.putIfAbsent(code, status) != null) {
+                    throw duplicate();
+                }
+            }
+        }
+
+        return new StatusRegistry(statuses, Collections.unmodifiableMap(fallback));
+    }
+
+    private static IllegalArgumentException duplicate() {
+        return new IllegalArgumentException("Duplicate status codes are not allowed");
+    }
+
+    private static boolean isIndexed(final int code) {
+        return code >= MIN && code <= MAX;
+    }
+
+    /**
+     * @param code the status code
+     * @return the registered status type for the given code, or null if there is none
+     */
+    @Nullable
+    public StatusType find(final int code) {
+        return isIndexed(code) ? statuses[code - MIN] : fallback.get(code);
+    }
+
+    /**
+     * @param code the status code
+     * @return the registered status type for the given code, or an unknown status type if there is none
+     */
+    public StatusType resolve(final int code) {
+        @Nullable final StatusType status = find(code);
+
+        if (status != null) {
+            return status;
+        }
+
+        if (isIndexed(code)) {
+            @Nullable final StatusType cached = unknown[code - MIN];
+
+            if (cached != null) {
+                return cached;
+            }
+
+            final StatusType created = new UnknownStatus(code);
+            unknown[code - MIN] = created;
+            return created;
+        }
+
+        return new UnknownStatus(code);
+    }
+
+}
@@ -2,15 +2,15 @@ package org.zalando.problem;
 
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.spi.StackTraceProcessor;
+import org.zalando.problem.spi.StackTraceProcessors;
 
-import java.util.Collection;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.io.ObjectStreamException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
 
-import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.joining;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
-import static org.zalando.problem.spi.StackTraceProcessor.COMPOUND;
 
 /**
  * 
@@ -19,22 +19,70 @@ import static org.zalando.problem.spi.StackTraceProcessor.COMPOUND;
 @API(status = STABLE)
 public abstract class ThrowableProblem extends RuntimeException implements Problem, Exceptional {
 
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
+    /**
+     * The stack trace after {@link org.zalando.problem.spi.StackTraceProcessor processing}, or null if it wasn't
+     * processed yet. Processing is deferred until the stack trace is actually needed, since most problems are mapped to
+     * responses without ever looking at it. It may be {@link StackTraces#enableCache(int) shared} with other problems,
+     * which is why it's only handed out as a copy and only copied into {@link Throwable} when printing or serializing.
+     */
+    @Nullable
+    private transient StackTraceElement[] processed;
+
+    /**
+     * Memoized renderings, since problems are immutable and logging frameworks tend to call {@link #getMessage()} and
+     * {@link #toString()} several times per event. Races are benign, since every thread computes an equal string.
+     */
+    @Nullable
+    private transient String message;
+
+    @Nullable
+    private transient String string;
+
+    /**
+     * Memoized {@link #fingerprint() fingerprint}, boxed so that it's published safely without locking. It's discarded
+     * whenever the stack trace changes.
+     */
+    @Nullable
+    private transient Long fingerprint;
+
     protected ThrowableProblem() {
         this(null);
     }
 
     protected ThrowableProblem(@Nullable final ThrowableProblem cause) {
-        super(cause);
+        this(cause, StackTraces.isEnabled());
+    }
 
-        final Collection<StackTraceElement> stackTrace = COMPOUND.process(asList(getStackTrace()));
-        setStackTrace(stackTrace.toArray(new StackTraceElement[0]));
+    /**
+     * Creates a problem that either captures a stack trace or is completely stackless. Stackless problems neither
+     * fill in a stack trace nor record suppressed exceptions, which makes them cheap to create and safe to share.
+     *
+     * @param cause      the optional cause
+     * @param stackTrace whether a stack trace should be captured
+     * @see StackTraces
+     */
+    protected ThrowableProblem(@Nullable final ThrowableProblem cause, final boolean stackTrace) {
+        super(null, cause, stackTrace, stackTrace);
+        this.processed = stackTrace ? null : NO_STACK_TRACE;
     }
 
     @Override
     public String getMessage() {
-        return Stream.of(getTitle(), getDetail())
-            .filter(Objects::nonNull)
-            .collect(joining(": "));
+        @Nullable final String message = this.message;
+        return message == null ? (this.message = renderMessage()) : message;
+    }
+
+    private String renderMessage() {
+        @Nullable final String title = getTitle();
+        @Nullable final String detail = getDetail();
+
+        if (title == null) {
+            return detail == null ? "" : detail;
+        }
+
+        return detail == null ? title : title + ": " + detail;
     }
 
     @Override
@@ -43,9 +91,112 @@ public abstract class ThrowableProblem extends RuntimeException implements Probl
         return (ThrowableProblem) super.getCause();
     }
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        processed = null;
+        fingerprint = null;
+
+        @Nullable final StackWalkerCapture walker = StackTraces.walker();
+
+        if (walker == null) {
+            return super.fillInStackTrace();
+        }
+
+        super.setStackTrace(walker.capture());
+        return this;
+    }
+
+    @Override
+    public StackTraceElement[] getStackTrace() {
+        return processedStackTrace().clone();
+    }
+
+    @Override
+    public synchronized void setStackTrace(final StackTraceElement[] stackTrace) {
+        super.setStackTrace(stackTrace);
+        // stackless problems ignore the given stack trace
+        processed = super.getStackTrace();
+        fingerprint = null;
+    }
+
+    @API(status = EXPERIMENTAL)
+    @Override
+    public long fingerprint() {
+        @Nullable final Long fingerprint = this.fingerprint;
+        return fingerprint == null ? (this.fingerprint = Fingerprints.of(this, processedStackTrace())) : fingerprint;
+    }
+
+    @Override
+    public void printStackTrace(final PrintStream stream) {
+        processStackTraces();
+        super.printStackTrace(stream);
+    }
+
+    @Override
+    public void printStackTrace(final PrintWriter writer) {
+        processStackTraces();
+        super.printStackTrace(writer);
+    }
+
+    /**
+     * Makes sure that the processed stack trace is serialized, rather than the raw one.
+     *
+     * @return this problem
+     * @throws ObjectStreamException never
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        processStackTraces();
+        return this;
+    }
+
+    /**
+     * {@link Throwable} prints and serializes its own stack trace, including those of causes, without calling
+     * {@link #getStackTrace()}, which is why the processed stack traces of the whole causal chain need to be copied
+     * into it upfront.
+     */
+    private void processStackTraces() {
+        @Nullable ThrowableProblem problem = this;
+
+        while (problem != null) {
+            problem.publishStackTrace();
+            problem = problem.getCause();
+        }
+    }
+
+    private synchronized void publishStackTrace() {
+        super.setStackTrace(processedStackTrace());
+    }
+
+    /**
+     * @return the processed stack trace, which may be shared and must therefore not be modified
+     */
+    synchronized StackTraceElement[] processedStackTrace() {
+        @Nullable StackTraceElement[] processed = this.processed;
+
+        if (processed == null) {
+            final StackTraceElement[] raw = super.getStackTrace();
+            final StackTraceProcessor processor = StackTraceProcessors.current();
+            @Nullable final StackTraceCache cache = StackTraces.cache();
+            processed = cache == null ? processor.process(raw) : cache.process(raw, processor);
+            this.processed = processed;
+        }
+
+        return processed;
+    }
+
     @Override
     public String toString() {
-        return Problem.toString(this);
+        @Nullable final String string = this.string;
+        return string == null ? (this.string = Problem.toString(this)) : string;
+    }
+
+    /**
+     * Discards the memoized {@link #getMessage() message} and {@link #toString() string}, in case the problem was
+     * modified while being deserialized.
+     */
+    void forgetRenderings() {
+        message = null;
+        string = null;
     }
 
 }
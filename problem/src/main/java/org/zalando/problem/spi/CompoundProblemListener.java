@@ -0,0 +1,59 @@
+package org.zalando.problem.spi;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StatusType;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+final class CompoundProblemListener implements ProblemListener {
+
+    private final ProblemListener[] listeners;
+
+    private CompoundProblemListener(final ProblemListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * @param listeners all listeners
+     * @return {@link ProblemListener#DEFAULT} if there are no listeners, the only listener if there is exactly one
+     * and a compound listener otherwise
+     */
+    static ProblemListener of(final Iterable<ProblemListener> listeners) {
+        final List<ProblemListener> list = new ArrayList<>();
+        listeners.forEach(list::add);
+
+        switch (list.size()) {
+            case 0:
+                return DEFAULT;
+            case 1:
+                return list.get(0);
+            default:
+                return new CompoundProblemListener(list.toArray(new ProblemListener[0]));
+        }
+    }
+
+    @Override
+    public void onConstruct(final URI type, @Nullable final StatusType status) {
+        for (final ProblemListener listener : listeners) {
+            listener.onConstruct(type, status);
+        }
+    }
+
+    @Override
+    public void onSerialize(final Problem problem) {
+        for (final ProblemListener listener : listeners) {
+            listener.onSerialize(problem);
+        }
+    }
+
+    @Override
+    public void onDeserialize(final Problem problem) {
+        for (final ProblemListener listener : listeners) {
+            listener.onDeserialize(problem);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.zalando.problem.spi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+final class CompoundStackTraceProcessor implements StackTraceProcessor {
+
+    private final StackTraceProcessor[] processors;
+
+    private CompoundStackTraceProcessor(final StackTraceProcessor[] processors) {
+        this.processors = processors;
+    }
+
+    /**
+     * Adjacent {@link PrefixStackTraceProcessor prefix processors} are combined, since filters commute with each
+     * other, but not necessarily with other processors.
+     *
+     * @param processors all processors, in order
+     * @return {@link StackTraceProcessor#DEFAULT} if there are no processors, the only processor if there is exactly
+     * one and a compound processor otherwise
+     */
+    static StackTraceProcessor of(final Iterable<StackTraceProcessor> processors) {
+        final List<StackTraceProcessor> list = new ArrayList<>();
+
+        for (final StackTraceProcessor processor : processors) {
+            final int last = list.size() - 1;
+
+            if (processor instanceof PrefixStackTraceProcessor && last >= 0
+                    && list.get(last) instanceof PrefixStackTraceProcessor) {
+                list.set(last, ((PrefixStackTraceProcessor) list.get(last))
+                        .combine((PrefixStackTraceProcessor) processor));
+            } else {
+                list.add(processor);
+            }
+        }
+
+        switch (list.size()) {
+            case 0:
+                return DEFAULT;
+            case 1:
+                return list.get(0);
+            default:
+                return new CompoundStackTraceProcessor(list.toArray(new StackTraceProcessor[0]));
+        }
+    }
+
+    @Override
+    public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+        return Arrays.asList(process(elements.toArray(new StackTraceElement[0])));
+    }
+
+    @Override
+    public StackTraceElement[] process(final StackTraceElement[] elements) {
+        StackTraceElement[] result = elements;
+
+        for (final StackTraceProcessor processor : processors) {
+            result = processor.process(result);
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.zalando.problem.spi;
+
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Drops all frames of classes that start with any of the given prefixes. Prefixes are compiled into a trie, which
+ * makes checking a frame independent of the number of prefixes. Adjacent prefix processors are
+ * {@link #COMPOUND combined} into one, so they all run in a single pass.
+ *
+ * <p>Register a subclass that passes its prefixes to the constructor:</p>
+ * <pre>{@code
+ *   public final class SpringStackTraceProcessor extends PrefixStackTraceProcessor {
+ *       public SpringStackTraceProcessor() {
+ *           super("org.springframework.", "jdk.internal.reflect.");
+ *       }
+ *   }
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+public class PrefixStackTraceProcessor implements StackTraceProcessor {
+
+    private final List<String> prefixes;
+    private final PrefixTrie trie;
+
+    public PrefixStackTraceProcessor(final String... prefixes) {
+        this(Arrays.asList(prefixes));
+    }
+
+    private PrefixStackTraceProcessor(final List<String> prefixes) {
+        this.prefixes = Collections.unmodifiableList(new ArrayList<>(prefixes));
+        this.trie = PrefixTrie.of(this.prefixes);
+    }
+
+    /**
+     * @param other another prefix processor
+     * @return a processor that drops frames matching any prefix of this or the other processor
+     */
+    PrefixStackTraceProcessor combine(final PrefixStackTraceProcessor other) {
+        final List<String> prefixes = new ArrayList<>(this.prefixes);
+        prefixes.addAll(other.prefixes);
+        return new PrefixStackTraceProcessor(prefixes);
+    }
+
+    @Override
+    public final Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+        return Arrays.asList(process(elements.toArray(new StackTraceElement[0])));
+    }
+
+    @Override
+    public final StackTraceElement[] process(final StackTraceElement[] elements) {
+        int kept = 0;
+
+        for (final StackTraceElement element : elements) {
+            if (!trie.matches(element.getClassName())) {
+                elements[kept++] = element;
+            }
+        }
+
+        return kept == elements.length ? elements : Arrays.copyOf(elements, kept);
+    }
+
+}
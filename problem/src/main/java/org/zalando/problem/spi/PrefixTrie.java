@@ -0,0 +1,111 @@
+package org.zalando.problem.spi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable, path-compressed character trie that tells whether a string starts with any of a set of prefixes, in a
+ * single pass over the string and without allocating. Chains of nodes with a single child are collapsed into one edge,
+ * e.g. {@code "org.springframework."}, which is then compared at once.
+ */
+final class PrefixTrie {
+
+    private final String[] edges;
+    private final PrefixTrie[] children;
+    private final boolean terminal;
+
+    private PrefixTrie(final String[] edges, final PrefixTrie[] children, final boolean terminal) {
+        this.edges = edges;
+        this.children = children;
+        this.terminal = terminal;
+    }
+
+    static PrefixTrie of(final Iterable<String> prefixes) {
+        final Builder root = new Builder();
+
+        for (final String prefix : prefixes) {
+            Builder node = root;
+            for (int index = 0; index < prefix.length(); index++) {
+                node = node.children.computeIfAbsent(prefix.charAt(index), label -> new Builder());
+            }
+            node.terminal = true;
+        }
+
+        return root.build();
+    }
+
+    boolean matches(final String value) {
+        PrefixTrie node = this;
+        int offset = 0;
+
+        while (!node.terminal) {
+            final int index = node.indexOf(value, offset);
+
+            if (index < 0) {
+                return false;
+            }
+
+            offset += node.edges[index].length();
+            node = node.children[index];
+        }
+
+        return true;
+    }
+
+    /**
+     * Edges of a node start with distinct characters, i.e. at most one of them can match.
+     *
+     * @return the index of the edge that the value continues with at the given offset, or -1 if there is none
+     */
+    private int indexOf(final String value, final int offset) {
+        if (offset == value.length()) {
+            return -1;
+        }
+
+        final char label = value.charAt(offset);
+
+        for (int index = 0; index < edges.length; index++) {
+            final String edge = edges[index];
+
+            if (edge.charAt(0) == label) {
+                return value.startsWith(edge, offset) ? index : -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static final class Builder {
+
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private boolean terminal;
+
+        private PrefixTrie build() {
+            // children of terminal nodes are unreachable
+            final Map<Character, Builder> reachable = terminal ? Collections.emptyMap() : children;
+            final String[] edges = new String[reachable.size()];
+            final PrefixTrie[] nodes = new PrefixTrie[reachable.size()];
+            int index = 0;
+
+            for (final Map.Entry<Character, Builder> entry : reachable.entrySet()) {
+                final StringBuilder edge = new StringBuilder().append(entry.getKey());
+                Builder node = entry.getValue();
+
+                while (!node.terminal && node.children.size() == 1) {
+                    final Map.Entry<Character, Builder> only = node.children.entrySet().iterator().next();
+                    edge.append(only.getKey());
+                    node = only.getValue();
+                }
+
+                edges[index] = edge.toString();
+                nodes[index] = node.build();
+                index++;
+            }
+
+            return new PrefixTrie(edges, nodes, terminal);
+        }
+
+    }
+
+}
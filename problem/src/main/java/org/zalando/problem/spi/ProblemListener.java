@@ -0,0 +1,87 @@
+package org.zalando.problem.spi;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StatusType;
+
+import java.net.URI;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Gets notified about the lifecycle of problems, e.g. to count them. Listeners are
+ * {@link ProblemListeners discovered lazily or initialized explicitly} and need to be thread-safe and fast, since they
+ * are called synchronously.
+ *
+ * <p>If no listener is registered, {@link ProblemListeners#current()} is {@link #DEFAULT}, which does nothing and is
+ * inlined away by the JIT. Serializers and deserializers skip notifying entirely in that case.</p>
+ *
+ * @see ProblemListeners
+ * @see java.util.ServiceLoader
+ */
+@API(status = EXPERIMENTAL)
+public interface ProblemListener {
+
+    ProblemListener DEFAULT = new ProblemListener() {
+        // ignores everything
+    };
+
+    /**
+     * Delegates to the {@link ProblemListeners#current() current} listeners, which are only discovered when this is
+     * used for the first time, unless they were {@link ProblemListeners#initialize() initialized} before.
+     */
+    ProblemListener COMPOUND = new ProblemListener() {
+
+        @Override
+        public void onConstruct(final URI type, @Nullable final StatusType status) {
+            ProblemListeners.current().onConstruct(type, status);
+        }
+
+        @Override
+        public void onSerialize(final Problem problem) {
+            ProblemListeners.current().onSerialize(problem);
+        }
+
+        @Override
+        public void onDeserialize(final Problem problem) {
+            ProblemListeners.current().onDeserialize(problem);
+        }
+
+    };
+
+    /**
+     * Called whenever an {@link org.zalando.problem.AbstractThrowableProblem} gets constructed, including problems
+     * built by a {@link org.zalando.problem.ProblemBuilder}, custom subclasses that are instantiated directly and
+     * problems created while deserializing. Shared problems, e.g. returned by
+     * {@link Problem#valueOf(StatusType)}, are reported every time they are handed out.
+     *
+     * <p>This is called from within the constructor, before any subclass constructor ran. That's why listeners only
+     * get the problem's type and status, as they were passed to the constructor, rather than the problem itself.</p>
+     *
+     * @param type   the type of the constructed problem
+     * @param status the status of the constructed problem, if any
+     */
+    default void onConstruct(final URI type, @Nullable final StatusType status) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called before a problem gets serialized.
+     *
+     * @param problem the problem to serialize
+     */
+    default void onSerialize(final Problem problem) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called after a problem was deserialized.
+     *
+     * @param problem the deserialized problem
+     */
+    default void onDeserialize(final Problem problem) {
+        // nothing to do by default
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.zalando.problem.spi;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+import static java.util.ServiceLoader.load;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Holds the {@link ProblemListener listeners} that get notified about problems. By default they are discovered using
+ * the {@link java.util.ServiceLoader}, lazily, when the first problem gets constructed, serialized or deserialized, or
+ * when the first JSON binding gets created. The same as for {@link StackTraceProcessors}, applications that care about the
+ * latency of their first request should either {@link #initialize() discover eagerly} during startup or
+ * {@link #initialize(ProblemListener...) configure listeners programmatically}, which skips discovery entirely.
+ *
+ * <p>JSON bindings use the listeners that are current when they are created.</p>
+ *
+ * @see ProblemListener#COMPOUND
+ */
+@API(status = EXPERIMENTAL)
+public final class ProblemListeners {
+
+    @Nullable
+    private static volatile ProblemListener configured;
+
+    ProblemListeners() throws Exception {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Discovers listeners using the {@link java.util.ServiceLoader} right away, unless that happened before, and uses
+     * them from now on. Discovery happens at most once.
+     */
+    public static void initialize() {
+        configured = null;
+        current();
+    }
+
+    /**
+     * Uses the given listeners, in order, from now on, instead of discovering them.
+     *
+     * @param listeners the listeners to use, possibly none
+     */
+    public static void initialize(final ProblemListener... listeners) {
+        configured = CompoundProblemListener.of(Arrays.asList(listeners));
+    }
+
+    /**
+     * @return the listener currently in effect, combining all configured or discovered listeners, which is
+     * {@link ProblemListener#DEFAULT} if there are none
+     */
+    public static ProblemListener current() {
+        @Nullable final ProblemListener listener = configured;
+        return listener == null ? Discovered.LISTENER : listener;
+    }
+
+    /**
+     * Initialization-on-demand holder, i.e. the JVM guarantees that discovery happens once and on first access only.
+     */
+    private static final class Discovered {
+
+        private static final ProblemListener LISTENER = CompoundProblemListener.of(load(ProblemListener.class));
+
+    }
+
+}
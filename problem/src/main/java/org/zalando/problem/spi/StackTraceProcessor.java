@@ -1,19 +1,58 @@
 package org.zalando.problem.spi;
 
+import java.util.Arrays;
 import java.util.Collection;
 
-import static java.util.ServiceLoader.load;
-import static java.util.stream.StreamSupport.stream;
-
 /**
  * @see java.util.ServiceLoader
+ * @see StackTraceProcessors
+ * @see PrefixStackTraceProcessor
  */
 public interface StackTraceProcessor {
 
-    StackTraceProcessor DEFAULT = elements -> elements;
-    StackTraceProcessor COMPOUND = stream(load(StackTraceProcessor.class).spliterator(), false)
-            .reduce(DEFAULT, (first, second) -> elements -> second.process(first.process(elements)));
+    StackTraceProcessor DEFAULT = new StackTraceProcessor() {
+
+        @Override
+        public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+            return elements;
+        }
+
+        @Override
+        public StackTraceElement[] process(final StackTraceElement[] elements) {
+            return elements;
+        }
+
+    };
+
+    /**
+     * Delegates to the {@link StackTraceProcessors#current() current} processors, which are only discovered when
+     * this is used for the first time, unless they were {@link StackTraceProcessors#initialize() initialized} before.
+     */
+    StackTraceProcessor COMPOUND = new StackTraceProcessor() {
+
+        @Override
+        public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+            return StackTraceProcessors.current().process(elements);
+        }
+
+        @Override
+        public StackTraceElement[] process(final StackTraceElement[] elements) {
+            return StackTraceProcessors.current().process(elements);
+        }
+
+    };
 
     Collection<StackTraceElement> process(final Collection<StackTraceElement> elements);
 
+    /**
+     * Array-based variant of {@link #process(Collection)}, which is what problems actually use. Implementations
+     * should override it to avoid converting from and to collections. They may modify and return the given array.
+     *
+     * @param elements the stack trace elements to process
+     * @return the processed stack trace elements
+     */
+    default StackTraceElement[] process(final StackTraceElement[] elements) {
+        return process(Arrays.asList(elements)).toArray(new StackTraceElement[0]);
+    }
+
 }
@@ -0,0 +1,68 @@
+package org.zalando.problem.spi;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+import static java.util.ServiceLoader.load;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Holds the {@link StackTraceProcessor processors} that problems apply to their stack traces. By default they are
+ * discovered using the {@link java.util.ServiceLoader}, lazily, when the first stack trace gets processed. Scanning the
+ * class path takes a while, which is why applications that care about the latency of their first request, e.g.
+ * serverless functions, should either {@link #initialize() discover eagerly} during startup or
+ * {@link #initialize(StackTraceProcessor...) configure processors programmatically}, which skips discovery entirely.
+ *
+ * <p>Changing processors doesn't affect stack traces that were processed already.</p>
+ *
+ * @see StackTraceProcessor#COMPOUND
+ */
+@API(status = EXPERIMENTAL)
+public final class StackTraceProcessors {
+
+    @Nullable
+    private static volatile StackTraceProcessor configured;
+
+    StackTraceProcessors() throws Exception {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Discovers processors using the {@link java.util.ServiceLoader} right away, unless that happened before, and uses
+     * them from now on. Discovery happens at most once.
+     */
+    public static void initialize() {
+        configured = null;
+        current();
+    }
+
+    /**
+     * Uses the given processors, in order, from now on, instead of discovering them.
+     *
+     * @param processors the processors to use, possibly none
+     */
+    public static void initialize(final StackTraceProcessor... processors) {
+        configured = CompoundStackTraceProcessor.of(Arrays.asList(processors));
+    }
+
+    /**
+     * @return the processor currently in effect, combining all configured or discovered processors
+     */
+    public static StackTraceProcessor current() {
+        @Nullable final StackTraceProcessor processor = configured;
+        return processor == null ? Discovered.PROCESSOR : processor;
+    }
+
+    /**
+     * Initialization-on-demand holder, i.e. the JVM guarantees that discovery happens once and on first access only.
+     */
+    private static final class Discovered {
+
+        private static final StackTraceProcessor PROCESSOR =
+                CompoundStackTraceProcessor.of(load(StackTraceProcessor.class));
+
+    }
+
+}
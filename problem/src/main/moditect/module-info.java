@@ -0,0 +1,9 @@
+module org.zalando.problem {
+    requires static org.apiguardian.api;
+    requires static org.checkerframework.checker.qual;
+    exports org.zalando.problem;
+    exports org.zalando.problem.spi;
+    opens org.zalando.problem to com.google.gson, org.zalando.problem.gson;
+    uses org.zalando.problem.spi.ProblemListener;
+    uses org.zalando.problem.spi.StackTraceProcessor;
+}
@@ -0,0 +1,83 @@
+package org.zalando.problem;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.NOT_FOUND;
+
+/**
+ * Fails if hot paths allocate more bytes per operation than budgeted. Budgets leave some headroom over what was
+ * measured when they were set, so that only real regressions fail. Lower them whenever an optimization allows to.
+ */
+final class AllocationBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final URI TYPE = URI.create("https://example.org/out-of-stock");
+
+    /**
+     * Keeps results reachable, so that allocations can't be optimized away.
+     */
+    private static volatile Object sink;
+
+    @Test
+    void shouldNotAllocateForGenericProblem() {
+        assertThat(allocatedBytesPerOperation(() -> Problem.valueOf(NOT_FOUND)), lessThanOrEqualTo(0L));
+    }
+
+    @Test
+    void shouldStayWithinBudgetForBuildingProblem() {
+        assertThat(allocatedBytesPerOperation(() -> Problem.builder()
+                .withType(TYPE)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build()), lessThanOrEqualTo(256L));
+    }
+
+    @Test
+    void shouldStayWithinBudgetForBuildingProblemWithParameters() {
+        assertThat(allocatedBytesPerOperation(() -> Problem.builder()
+                .withType(TYPE)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .with("product", "B00027Y5QG")
+                .with("quantity", 3)
+                .with("warehouse", "FRA")
+                .build()), lessThanOrEqualTo(384L));
+    }
+
+    private static long allocatedBytesPerOperation(final Operation operation) {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation measurement is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int iteration = 0; iteration < WARMUP; iteration++) {
+            sink = operation.run();
+        }
+
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            sink = operation.run();
+        }
+
+        return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run();
+    }
+
+}
@@ -3,12 +3,14 @@ package org.zalando.problem;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasToString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.zalando.problem.Status.BAD_REQUEST;
 
@@ -42,4 +44,24 @@ final class DefaultProblemTest {
         assertThat(problem, hasFeature(DefaultProblem::getParameters, hasEntry("foo", "bar")));
     }
 
+    @Test
+    void shouldShareEmptyParameters() {
+        final DefaultProblem first = new DefaultProblem(null, null, null, null, null, null);
+        final DefaultProblem second = new DefaultProblem(null, null, null, null, null, null);
+
+        assertThat(first.getParameters(), is(sameInstance(second.getParameters())));
+        assertThat(first.getParameters(), is(sameInstance(first.getParameters())));
+    }
+
+    @Test
+    void shouldNotExposeParametersBeforeModification() {
+        final DefaultProblem problem = new DefaultProblem(null, null, null, null, null, null);
+        final Map<String, Object> before = problem.getParameters();
+
+        problem.set("foo", "bar");
+
+        assertThat(before.isEmpty(), is(true));
+        assertThat(problem.getParameters(), hasEntry("foo", "bar"));
+    }
+
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -22,6 +23,18 @@ final class ExceptionalTest {
         }
     }
 
+    @Test
+    void shouldFingerprintLikeThrowableProblem() {
+        final Exceptional exceptional = new EnforceCoverageTest.FakeProblem();
+        final ThrowableProblem problem = Problem.builder()
+                .withStatus(Status.BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+        ((Throwable) exceptional).setStackTrace(new StackTraceElement[0]);
+
+        assertThat(exceptional.fingerprint(), is(problem.fingerprint()));
+    }
+
     private Exceptional unit() {
         return new InsufficientFundsProblem(10, -20);
     }
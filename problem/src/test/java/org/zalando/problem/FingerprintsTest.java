@@ -0,0 +1,124 @@
+package org.zalando.problem;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.CONFLICT;
+
+final class FingerprintsTest {
+
+    private static final URI TYPE = URI.create("https://example.org/out-of-stock");
+
+    private static final StackTraceElement[] STACK_TRACE = {
+            new StackTraceElement("org.example.OrderService", "order", "OrderService.java", 42),
+            new StackTraceElement("org.example.OrderController", "post", "OrderController.java", 17),
+    };
+
+    @Test
+    void shouldBeStableAcrossRuns() {
+        final ThrowableProblem problem = problem(BAD_REQUEST, STACK_TRACE);
+
+        assertThat(problem.fingerprint(), is(0xeb89d74408338ffcL));
+    }
+
+    @Test
+    void shouldIgnoreLineNumbersAndFileNames() {
+        final StackTraceElement[] stackTrace = {
+                new StackTraceElement("org.example.OrderService", "order", null, 1),
+                new StackTraceElement("org.example.OrderController", "post", "Other.java", -1),
+        };
+
+        assertThat(problem(BAD_REQUEST, stackTrace).fingerprint(),
+                is(problem(BAD_REQUEST, STACK_TRACE).fingerprint()));
+    }
+
+    @Test
+    void shouldIgnoreSuffixesOfGeneratedClasses() {
+        final StackTraceElement[] first = {
+                new StackTraceElement("org.example.OrderService$$Lambda$17/0x0000000800c01234", "apply", null, -1),
+        };
+        final StackTraceElement[] second = {
+                new StackTraceElement("org.example.OrderService$$Lambda$23/0x0000000800c05678", "apply", null, -1),
+        };
+
+        assertThat(problem(BAD_REQUEST, first).fingerprint(), is(problem(BAD_REQUEST, second).fingerprint()));
+    }
+
+    @Test
+    void shouldDistinguishStatuses() {
+        assertThat(problem(BAD_REQUEST, STACK_TRACE).fingerprint(),
+                is(not(problem(CONFLICT, STACK_TRACE).fingerprint())));
+        assertThat(problem(null, STACK_TRACE).fingerprint(),
+                is(not(problem(BAD_REQUEST, STACK_TRACE).fingerprint())));
+    }
+
+    @Test
+    void shouldDistinguishMethods() {
+        final StackTraceElement[] stackTrace = STACK_TRACE.clone();
+        stackTrace[1] = new StackTraceElement("org.example.OrderController", "put", "OrderController.java", 17);
+
+        assertThat(problem(BAD_REQUEST, stackTrace).fingerprint(),
+                is(not(problem(BAD_REQUEST, STACK_TRACE).fingerprint())));
+    }
+
+    @Test
+    void shouldOnlyConsiderTopFrames() {
+        final StackTraceElement[] deep = Arrays.copyOf(STACK_TRACE, Fingerprints.DEPTH + 1);
+        final StackTraceElement[] deeper = deep.clone();
+        Arrays.fill(deep, STACK_TRACE.length, deep.length, STACK_TRACE[0]);
+        Arrays.fill(deeper, STACK_TRACE.length, deeper.length, STACK_TRACE[0]);
+        deeper[Fingerprints.DEPTH] = STACK_TRACE[1];
+
+        assertThat(problem(BAD_REQUEST, deep).fingerprint(), is(problem(BAD_REQUEST, deeper).fingerprint()));
+    }
+
+    @Test
+    void shouldFingerprintProblemsWithoutStackTrace() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(TYPE)
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+
+        assertThat(problem.fingerprint(), is(not(problem(BAD_REQUEST, STACK_TRACE).fingerprint())));
+    }
+
+    @Test
+    void shouldRenderFixedLengthHexString() {
+        assertThat(Fingerprints.toString(0), is("0000000000000000"));
+        assertThat(Fingerprints.toString(0x1234L), is("0000000000001234"));
+        assertThat(Fingerprints.toString(-1), is("ffffffffffffffff"));
+        assertThat(Fingerprints.toString(0xeb89d74408338ffcL), is(equalTo("eb89d74408338ffc")));
+    }
+
+    @Test
+    void shouldNotBeInstantiable() {
+        assertThrows(Exception.class, Fingerprints::new);
+    }
+
+    private static ThrowableProblem problem(@Nullable final StatusType status, final StackTraceElement[] stackTrace) {
+        final ThrowableProblem problem = new ThrowableProblem(null, true) {
+            @Override
+            public URI getType() {
+                return TYPE;
+            }
+
+            @Override
+            public StatusType getStatus() {
+                return status;
+            }
+        };
+        problem.setStackTrace(stackTrace);
+        return problem;
+    }
+
+}
@@ -1,18 +1,11 @@
 package org.zalando.problem;
 
-import org.zalando.problem.spi.StackTraceProcessor;
+import org.zalando.problem.spi.PrefixStackTraceProcessor;
 
-import java.util.Collection;
+public final class JunitStackTraceProcessor extends PrefixStackTraceProcessor {
 
-import static java.util.stream.Collectors.toList;
-
-public final class JunitStackTraceProcessor implements StackTraceProcessor {
-
-    @Override
-    public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
-        return elements.stream()
-                .filter(element -> !element.getClassName().startsWith("org.junit"))
-                .collect(toList());
+    public JunitStackTraceProcessor() {
+        super("org.junit");
     }
 
 }
@@ -0,0 +1,174 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ParameterMapTest {
+
+    @Test
+    void shouldShareEmptyMap() {
+        assertThat(ParameterMap.copyOf(null), is(sameInstance(ParameterMap.EMPTY)));
+        assertThat(ParameterMap.copyOf(Collections.emptyMap()), is(sameInstance(ParameterMap.EMPTY)));
+        assertThat(ParameterMap.EMPTY.isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldNotCopyParameterMap() {
+        final ParameterMap map = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+
+        assertThat(ParameterMap.copyOf(map), is(sameInstance(map)));
+    }
+
+    @Test
+    void shouldPreserveInsertionOrder() {
+        final Map<String, Object> source = new LinkedHashMap<>();
+        source.put("c", 1);
+        source.put("a", 2);
+        source.put("b", 3);
+
+        final ParameterMap map = ParameterMap.copyOf(source);
+
+        assertThat(map.keySet(), contains("c", "a", "b"));
+        assertThat(map.values(), contains(1, 2, 3));
+        assertThat(map, is(equalTo(source)));
+        assertThat(map.hashCode(), is(source.hashCode()));
+        assertThat(map, hasEntry("a", 2));
+    }
+
+    @Test
+    void shouldLookupKeys() {
+        final Map<String, Object> source = new LinkedHashMap<>();
+        source.put("foo", "bar");
+        source.put("nothing", null);
+
+        final ParameterMap map = ParameterMap.copyOf(source);
+
+        assertThat(map.size(), is(2));
+        assertThat(map.isEmpty(), is(false));
+        assertThat(map.get("foo"), is("bar"));
+        assertThat(map.get("bar"), is(nullValue()));
+        assertThat(map.get(null), is(nullValue()));
+        assertThat(map.containsKey("nothing"), is(true));
+        assertThat(map.containsKey("bar"), is(false));
+    }
+
+    @Test
+    void shouldBeImmutable() {
+        final ParameterMap map = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("bar", "foo"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("foo"));
+        assertThrows(UnsupportedOperationException.class, map::clear);
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("baz"));
+
+        final Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    void shouldFailBeyondLastEntry() {
+        final Iterator<Map.Entry<String, Object>> iterator = ParameterMap.EMPTY.entrySet().iterator();
+
+        assertThat(iterator.hasNext(), is(false));
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void shouldIterateEntrySet() {
+        final Map<String, Object> source = new LinkedHashMap<>();
+        source.put("foo", "bar");
+        source.put("bar", "foo");
+
+        final Set<Map.Entry<String, Object>> entries = ParameterMap.copyOf(source).entrySet();
+        final Iterator<Map.Entry<String, Object>> iterator = entries.iterator();
+
+        assertThat(entries.size(), is(2));
+        assertThat(iterator.next().getKey(), is("foo"));
+        assertThat(iterator.next().getKey(), is("bar"));
+        assertThat(iterator.hasNext(), is(false));
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void shouldReuseEntrySet() {
+        final ParameterMap map = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+
+        assertThat(map.entrySet(), is(sameInstance(map.entrySet())));
+    }
+
+    @Test
+    void shouldAppendWithoutModifyingOriginal() {
+        final ParameterMap original = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+        final ParameterMap map = original.with("bar", "foo");
+
+        assertThat(map.keySet(), contains("foo", "bar"));
+        assertThat(map.get("bar"), is("foo"));
+        assertThat(original.containsKey("bar"), is(false));
+    }
+
+    @Test
+    void shouldReplaceWithoutModifyingOriginal() {
+        final ParameterMap original = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+        final ParameterMap map = original.with("foo", "baz");
+
+        assertThat(map.size(), is(1));
+        assertThat(map.get("foo"), is("baz"));
+        assertThat(original.get("foo"), is("bar"));
+    }
+
+    @Test
+    void shouldSerialize() throws IOException, ClassNotFoundException {
+        final ParameterMap map = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+
+        assertThat(copy(map), is(equalTo(map)));
+        assertThat(copy(map), is(not(sameInstance(map))));
+        assertThat(copy(ParameterMap.EMPTY), is(sameInstance(ParameterMap.EMPTY)));
+    }
+
+    @Test
+    void shouldNotSerializeUnusedCapacityOfBuilder() throws IOException {
+        final Map<String, Object> built = Problem.builder().with("foo", "bar").build().getParameters();
+        final ParameterMap exact = ParameterMap.copyOf(Collections.singletonMap("foo", "bar"));
+
+        assertThat(bytes(built).length, is(bytes(exact).length));
+    }
+
+    private static Object copy(final Object value) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes(value)))) {
+            return input.readObject();
+        }
+    }
+
+    private static byte[] bytes(final Object value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+
+        return bytes.toByteArray();
+    }
+
+}
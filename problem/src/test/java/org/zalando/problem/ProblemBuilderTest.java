@@ -3,13 +3,20 @@ package org.zalando.problem;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasToString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.zalando.problem.Status.BAD_REQUEST;
@@ -144,4 +151,98 @@ class ProblemBuilderTest {
         assertThrows(IllegalArgumentException.class, () -> Problem.builder().with("cause", "foo"));
     }
 
+    @Test
+    void shouldAllowNullKey() {
+        final ThrowableProblem problem = Problem.builder()
+                .with(null, "foo")
+                .build();
+
+        assertThat(problem.getParameters(), hasEntry(null, "foo"));
+    }
+
+    @Test
+    void shouldCreateProblemWithParameterMap() {
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("foo", "bar");
+        parameters.put("bar", "foo");
+
+        final ThrowableProblem problem = Problem.builder()
+                .with("baz", 1)
+                .with(parameters)
+                .with("foo", "baz")
+                .build();
+
+        assertThat(problem.getParameters().keySet(), contains("baz", "foo", "bar"));
+        assertThat(problem.getParameters(), hasEntry("foo", "baz"));
+    }
+
+    @Test
+    void shouldThrowOnReservedKeyInParameterMap() {
+        final ProblemBuilder builder = Problem.builder();
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("foo", "bar");
+        parameters.put("cause", "foo");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.with(parameters));
+        assertThat(builder.build().getParameters(), is(Collections.emptyMap()));
+    }
+
+    @Test
+    void shouldNotModifyBuiltProblemWhenReplacingParameter() {
+        final ProblemBuilder builder = Problem.builder().with("foo", "bar");
+        final ThrowableProblem first = builder.build();
+        final ThrowableProblem second = builder.with("foo", "baz").build();
+
+        assertThat(first.getParameters(), hasEntry("foo", "bar"));
+        assertThat(second.getParameters(), hasEntry("foo", "baz"));
+    }
+
+    @Test
+    void shouldNotModifyBuiltProblemWhenAddingParameter() {
+        final ProblemBuilder builder = Problem.builder().with("foo", "bar");
+        final ThrowableProblem first = builder.build();
+        final ThrowableProblem second = builder.with("bar", "foo").build();
+        final ThrowableProblem third = builder.with("bar", "baz").build();
+
+        assertThat(first.getParameters(), is(aMapWithSize(1)));
+        assertThat(second.getParameters(), hasEntry("bar", "foo"));
+        assertThat(third.getParameters(), hasEntry("bar", "baz"));
+    }
+
+    @Test
+    void shouldReset() {
+        final ProblemBuilder builder = Problem.builder()
+                .withType(type)
+                .withTitle("Out of Stock")
+                .withStatus(BAD_REQUEST)
+                .withDetail("Item B00027Y5QG is no longer available")
+                .withInstance(URI.create("https://example.com/"))
+                .withCause(Problem.valueOf(BAD_REQUEST))
+                .withoutStackTrace()
+                .with("foo", "bar");
+
+        final ThrowableProblem before = builder.build();
+        final ThrowableProblem problem = builder.reset().build();
+
+        assertThat(before.getParameters(), hasEntry("foo", "bar"));
+        assertThat(problem, hasFeature("type", Problem::getType, hasToString("about:blank")));
+        assertThat(problem, hasFeature("title", Problem::getTitle, is(nullValue())));
+        assertThat(problem, hasFeature("status", Problem::getStatus, is(nullValue())));
+        assertThat(problem, hasFeature("detail", Problem::getDetail, is(nullValue())));
+        assertThat(problem, hasFeature("instance", Problem::getInstance, is(nullValue())));
+        assertThat(problem, hasFeature("cause", ThrowableProblem::getCause, is(nullValue())));
+        assertThat(problem.getStackTrace().length, is(not(0)));
+        assertThat(problem.getParameters(), is(sameInstance(ParameterMap.EMPTY)));
+    }
+
+    @Test
+    void shouldResetUnbuiltParameters() {
+        final ProblemBuilder builder = Problem.builder().with("foo", "bar");
+
+        final ThrowableProblem problem = builder.reset().with("bar", "foo").build();
+
+        assertThat(problem.getParameters(), is(aMapWithSize(1)));
+        assertThat(problem.getParameters(), hasEntry("bar", "foo"));
+    }
+
 }
@@ -0,0 +1,165 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.ProblemCounters.Counters;
+import org.zalando.problem.spi.ProblemListeners;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+final class ProblemCountersTest {
+
+    private final URI type = URI.create("https://example.org/" + UUID.randomUUID());
+
+    @AfterEach
+    void reset() {
+        ProblemListeners.initialize();
+    }
+
+    @Test
+    void shouldCountConstructedProblems() {
+        ProblemListeners.initialize(new ProblemCounters());
+        final long total = ProblemCounters.constructed().total();
+
+        Problem.builder().withType(type).withStatus(BAD_REQUEST).build();
+        Problem.builder().withType(type).build();
+
+        final Counters counters = ProblemCounters.constructed();
+        assertThat(counters.count(type), is(2L));
+        assertThat(counters.count(400), is(greaterThanOrEqualTo(1L)));
+        assertThat(counters.total(), is(greaterThanOrEqualTo(total + 2)));
+        assertThat(counters.byType(), hasEntry(type, 2L));
+        assertThat(counters.byStatus(), hasKey(400));
+    }
+
+    @Test
+    void shouldCountDirectlyConstructedProblems() {
+        ProblemListeners.initialize(new ProblemCounters());
+
+        new CustomProblem(type, "SKU-123");
+
+        assertThat(ProblemCounters.constructed().count(type), is(1L));
+    }
+
+    @Test
+    void shouldCountSharedProblemsWheneverHandedOut() {
+        ProblemListeners.initialize(new ProblemCounters());
+        final long count = ProblemCounters.constructed().count(410);
+
+        Problem.valueOf(Status.GONE);
+        Problem.valueOf(Status.GONE);
+
+        assertThat(ProblemCounters.constructed().count(410), is(count + 2));
+    }
+
+    @Test
+    void shouldCountMissingTypeAsDefault() {
+        final Counters counters = new Counters();
+
+        counters.increment(new Problem() {
+            @Override
+            public URI getType() {
+                return null;
+            }
+        });
+
+        assertThat(counters.count(Problem.DEFAULT_TYPE), is(1L));
+        assertThat(counters.total(), is(1L));
+    }
+
+    @Test
+    void shouldCountSerializedAndDeserializedProblems() {
+        final ThrowableProblem problem = Problem.builder().withType(type).withStatus(BAD_REQUEST).build();
+        final ProblemCounters listener = new ProblemCounters();
+
+        listener.onSerialize(problem);
+        listener.onSerialize(problem);
+        listener.onDeserialize(problem);
+
+        assertThat(ProblemCounters.serialized().count(type), is(2L));
+        assertThat(ProblemCounters.deserialized().count(type), is(1L));
+    }
+
+    @Test
+    void shouldCountStatusesOutsideOfRange() {
+        final Counters counters = new Counters();
+
+        counters.increment(Problem.builder().withType(type).withStatus(status(-1)).build());
+        counters.increment(Problem.builder().withType(type).withStatus(status(1000)).build());
+        counters.increment(Problem.builder().withType(type).withStatus(status(1000)).build());
+        counters.increment(Problem.builder().withType(type).withStatus(status(999)).build());
+        counters.increment(Problem.builder().withType(type).withStatus(status(999)).build());
+
+        assertThat(counters.total(), is(5L));
+        assertThat(counters.count(-1), is(1L));
+        assertThat(counters.count(1000), is(2L));
+        assertThat(counters.count(999), is(2L));
+        assertThat(counters.count(0), is(0L));
+        assertThat(counters.count(2000), is(0L));
+        assertThat(counters.byStatus(), hasEntry(-1, 1L));
+        assertThat(counters.byStatus(), hasEntry(1000, 2L));
+        assertThat(counters.byStatus(), hasEntry(999, 2L));
+        assertThat(counters.byStatus(), not(hasKey(0)));
+    }
+
+    @Test
+    void shouldNotCountMissingStatus() {
+        final Counters counters = new Counters();
+
+        counters.increment(Problem.builder().withType(type).build());
+
+        assertThat(counters.total(), is(1L));
+        assertThat(counters.count(type), is(1L));
+        assertThat(counters.byStatus().isEmpty(), is(true));
+        assertThat(counters.count(URI.create("https://example.org/unknown")), is(0L));
+    }
+
+    @Test
+    void shouldReturnUnmodifiableSnapshots() {
+        final Counters counters = new Counters();
+
+        assertThrows(UnsupportedOperationException.class, () -> counters.byType().put(type, 1L));
+        assertThrows(UnsupportedOperationException.class, () -> counters.byStatus().put(400, 1L));
+    }
+
+    private static StatusType status(final int code) {
+        return new StatusType() {
+            @Override
+            public int getStatusCode() {
+                return code;
+            }
+
+            @Override
+            public String getReasonPhrase() {
+                return "Custom";
+            }
+        };
+    }
+
+    private static final class CustomProblem extends AbstractThrowableProblem {
+
+        private final String sku;
+
+        private CustomProblem(final URI type, final String sku) {
+            super(type, "Out of Stock", BAD_REQUEST);
+            this.sku = sku;
+        }
+
+        @Override
+        public String getDetail() {
+            return sku + " is out of stock";
+        }
+
+    }
+
+}
@@ -2,10 +2,17 @@ package org.zalando.problem;
 
 import org.junit.jupiter.api.Test;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasToString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 
 final class ProblemStaticFactoryTest {
@@ -29,4 +36,86 @@ final class ProblemStaticFactoryTest {
         assertThat(problem, hasFeature("detail", Problem::getDetail, is("Order 123")));
     }
 
+    @Test
+    void shouldShareGenericProblem() {
+        final ThrowableProblem problem = Problem.valueOf(Status.NOT_FOUND);
+
+        assertThat(problem, is(sameInstance(Problem.valueOf(Status.NOT_FOUND))));
+        assertThat(problem, is(sameInstance(Problem.valueOf(Status.NOT_FOUND, (String) null))));
+        assertThat(problem, is(sameInstance(Problem.valueOf(Status.NOT_FOUND, (URI) null))));
+        assertThat(problem, is(sameInstance(Problem.valueOf(Status.NOT_FOUND, null, null))));
+        assertThat(problem.getStackTrace(), is(emptyArray()));
+    }
+
+    @Test
+    void shouldShareGenericProblemOfCustomStatus() {
+        final ThrowableProblem problem = Problem.valueOf(CustomStatus.TEAPOT);
+
+        assertThat(problem, is(sameInstance(Problem.valueOf(CustomStatus.TEAPOT))));
+        assertThat(problem, hasFeature("title", Problem::getTitle, equalTo("I'm a teapot")));
+        assertThat(problem.getStackTrace(), is(emptyArray()));
+    }
+
+    @Test
+    void shouldNotShareGenericProblemOfNonEnumStatus() {
+        final StatusType status = new StatusType() {
+            @Override
+            public int getStatusCode() {
+                return 418;
+            }
+
+            @Override
+            public String getReasonPhrase() {
+                return "I'm a teapot";
+            }
+        };
+
+        assertThat(Problem.valueOf(status), is(not(sameInstance(Problem.valueOf(status)))));
+    }
+
+    @Test
+    void shouldNotShareGenericProblemWithDetailOrInstance() {
+        final URI instance = URI.create("https://example.org/");
+
+        assertThat(Problem.valueOf(Status.NOT_FOUND, "Order 123"),
+                is(not(sameInstance(Problem.valueOf(Status.NOT_FOUND, "Order 123")))));
+        assertThat(Problem.valueOf(Status.NOT_FOUND, instance),
+                is(not(sameInstance(Problem.valueOf(Status.NOT_FOUND, instance)))));
+        assertThat(Problem.valueOf(Status.NOT_FOUND, "Order 123", instance).getStackTrace(), is(not(emptyArray())));
+    }
+
+    @Test
+    void shouldNotLeakStateBetweenConcurrentThrows() {
+        final ThrowableProblem problem = Problem.valueOf(Status.CONFLICT);
+
+        CompletableFuture.allOf(IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    try {
+                        throw problem;
+                    } catch (final ThrowableProblem e) {
+                        e.addSuppressed(new IllegalStateException());
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(problem.getSuppressed(), is(emptyArray()));
+        assertThat(problem.getStackTrace(), is(emptyArray()));
+    }
+
+    enum CustomStatus implements StatusType {
+
+        TEAPOT;
+
+        @Override
+        public int getStatusCode() {
+            return 418;
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return "I'm a teapot";
+        }
+
+    }
+
 }
@@ -149,4 +149,39 @@ final class ProblemTest {
         assertThat(writer, hasToString(containsString("https://example.org/problem{404, foo=bar}")));
     }
 
+    @Test
+    void shouldRenderMultipleCustomPropertiesInOrder() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(URI.create("https://example.org/problem"))
+                .withTitle("Not Found")
+                .with("foo", "bar")
+                .with("bar", null)
+                .with("baz", 42)
+                .build();
+
+        assertThat(problem, hasToString("https://example.org/problem{Not Found, foo=bar, bar=null, baz=42}"));
+    }
+
+    @Test
+    void shouldRenderEmptyTitle() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("")
+                .withDetail("Order 123")
+                .build();
+
+        assertThat(problem, hasToString("about:blank{, Order 123}"));
+    }
+
+    @Test
+    void shouldRenderProblemWithoutParameters() {
+        final Problem problem = new Problem() {
+            @Override
+            public URI getInstance() {
+                return URI.create("https://example.org/");
+            }
+        };
+
+        assertThat(Problem.toString(problem), is("about:blank{instance=https://example.org/}"));
+    }
+
 }
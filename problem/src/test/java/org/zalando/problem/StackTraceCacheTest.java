@@ -0,0 +1,144 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.spi.StackTraceProcessor;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class StackTraceCacheTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private final StackTraceProcessor processor = new StackTraceProcessor() {
+        @Override
+        public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StackTraceElement[] process(final StackTraceElement[] elements) {
+            invocations.incrementAndGet();
+            // modifies the given array, which processors are allowed to
+            elements[0] = element("Processed", "Processed.java");
+            return elements;
+        }
+    };
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new StackTraceCache(1).capacity(), is(1));
+        assertThat(new StackTraceCache(3).capacity(), is(4));
+        assertThat(new StackTraceCache(4).capacity(), is(4));
+        assertThat(new StackTraceCache(1000).capacity(), is(1024));
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new StackTraceCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new StackTraceCache(-1));
+    }
+
+    @Test
+    void shouldProcessOnceAndShareResult() {
+        final StackTraceCache unit = new StackTraceCache(16);
+        final StackTraceElement[] raw = {element("Example", "Example.java")};
+
+        final StackTraceElement[] first = unit.process(raw, processor);
+        final StackTraceElement[] second = unit.process(new StackTraceElement[]{element("Example", "Example.java")},
+                processor);
+
+        assertThat(invocations.get(), is(1));
+        assertThat(second, is(sameInstance(first)));
+        assertThat(raw, arrayContaining(element("Example", "Example.java")));
+    }
+
+    @Test
+    void shouldNotShareResultsOfDifferentProcessors() {
+        final StackTraceCache unit = new StackTraceCache(16);
+        final StackTraceElement[] raw = {element("Example", "Example.java")};
+
+        final StackTraceElement[] processed = unit.process(raw, processor);
+
+        assertThat(unit.process(raw, StackTraceProcessor.DEFAULT), arrayContaining(raw));
+        assertThat(unit.process(raw, processor), is(not(sameInstance(processed))));
+        assertThat(invocations.get(), is(2));
+    }
+
+    @Test
+    void shouldReplaceCollidingEntries() {
+        final StackTraceCache unit = new StackTraceCache(1);
+
+        unit.process(new StackTraceElement[]{element("First", "First.java")}, processor);
+        unit.process(new StackTraceElement[]{element("Second", "Second.java")}, processor);
+        unit.process(new StackTraceElement[]{element("First", "First.java")}, processor);
+
+        assertThat(invocations.get(), is(3));
+    }
+
+    @Test
+    void shouldNotConfuseStackTracesWithEqualHashCodes() {
+        final StackTraceCache unit = new StackTraceCache(16);
+        // "Aa" and "BB" have the same hash code
+        final StackTraceElement[] first = {element("Aa", "Example.java")};
+        final StackTraceElement[] second = {element("BB", "Example.java")};
+
+        final StackTraceElement[] processed = unit.process(first, processor);
+
+        assertThat(unit.process(second, processor), is(not(sameInstance(processed))));
+        assertThat(invocations.get(), is(2));
+    }
+
+    @Test
+    void shouldNotShareStackTracesOfOtherCallSites() {
+        // a single slot, i.e. every lookup compares call sites
+        final StackTraceCache unit = new StackTraceCache(1);
+        final StackTraceElement[] raw = {element("Example", "Example.java")};
+
+        final StackTraceElement[] processed = unit.process(raw, processor);
+
+        assertThat(unit.process(new StackTraceElement[]{new StackTraceElement("Example", "run", "Example.java", 18)},
+                processor), is(not(sameInstance(processed))));
+        assertThat(unit.process(new StackTraceElement[]{new StackTraceElement("Example", "walk", "Example.java", 17)},
+                processor), is(not(sameInstance(processed))));
+        assertThat(unit.process(new StackTraceElement[]{element("Other", "Example.java")}, processor),
+                is(not(sameInstance(processed))));
+        assertThat(unit.process(new StackTraceElement[]{raw[0], raw[0]}, processor), is(not(sameInstance(processed))));
+        assertThat(invocations.get(), is(5));
+    }
+
+    @Test
+    void shouldShareStackTracesThatOnlyDifferBelowTopFrames() {
+        final StackTraceCache unit = new StackTraceCache(16);
+        final StackTraceElement[] first = frames(StackTraceCache.FRAMES + 1, "First.java");
+        final StackTraceElement[] second = frames(StackTraceCache.FRAMES + 1, "Second.java");
+        second[StackTraceCache.FRAMES] = element("Caller", "Caller.java");
+
+        final StackTraceElement[] processed = unit.process(first, processor);
+
+        assertThat(unit.process(second, processor), is(sameInstance(processed)));
+        assertThat(unit.process(frames(StackTraceCache.FRAMES + 2, "First.java"), processor),
+                is(not(sameInstance(processed))));
+        assertThat(invocations.get(), is(2));
+    }
+
+    private static StackTraceElement[] frames(final int depth, final String fileName) {
+        final StackTraceElement[] frames = new StackTraceElement[depth];
+        for (int index = 0; index < depth; index++) {
+            frames[index] = new StackTraceElement("Example", "run", fileName, index);
+        }
+        return frames;
+    }
+
+    private static StackTraceElement element(final String className, final String fileName) {
+        return new StackTraceElement(className, "run", fileName, 17);
+    }
+
+}
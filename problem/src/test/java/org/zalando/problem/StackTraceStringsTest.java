@@ -0,0 +1,108 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class StackTraceStringsTest {
+
+    @AfterEach
+    void reset() {
+        StackTraceStrings.enableCache(StackTraceStrings.DEFAULT_CAPACITY);
+    }
+
+    @Test
+    void shouldCacheByDefault() {
+        final StackTraceStrings cache = StackTraceStrings.cache();
+
+        assertThat(cache, is(not(nullValue())));
+        assertThat(cache.capacity(), is(1024));
+    }
+
+    @Test
+    void shouldNotCreateCacheForNonPositiveCapacity() {
+        assertThat(StackTraceStrings.create(0), is(nullValue()));
+        assertThat(StackTraceStrings.create(100).capacity(), is(128));
+    }
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new StackTraceStrings(1).capacity(), is(1));
+        assertThat(new StackTraceStrings(3).capacity(), is(4));
+        assertThat(new StackTraceStrings(4).capacity(), is(4));
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new StackTraceStrings(0));
+        assertThrows(IllegalArgumentException.class, () -> StackTraceStrings.enableCache(-1));
+    }
+
+    @Test
+    void shouldRenderSameAsToString() {
+        final StackTraceElement element = element("Example", "Example.java");
+
+        assertThat(StackTraceStrings.toString(element), is(element.toString()));
+    }
+
+    @Test
+    void shouldShareRenderedStrings() {
+        final String first = StackTraceStrings.toString(element("Example", "Example.java"));
+        final String second = StackTraceStrings.toString(element("Example", "Example.java"));
+
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    void shouldShareRenderedStringsOfSameElement() {
+        final StackTraceStrings unit = new StackTraceStrings(16);
+        final StackTraceElement element = element("Example", "Example.java");
+
+        assertThat(unit.render(element), is(sameInstance(unit.render(element))));
+    }
+
+    @Test
+    void shouldRenderEveryTimeIfDisabled() {
+        StackTraceStrings.disableCache();
+
+        final String first = StackTraceStrings.toString(element("Example", "Example.java"));
+        final String second = StackTraceStrings.toString(element("Example", "Example.java"));
+
+        assertThat(second, is(first));
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    void shouldReplaceCollidingEntries() {
+        final StackTraceStrings unit = new StackTraceStrings(1);
+
+        final String first = unit.render(element("First", "First.java"));
+        unit.render(element("Second", "Second.java"));
+
+        assertThat(unit.render(element("First", "First.java")), is(not(sameInstance(first))));
+    }
+
+    @Test
+    void shouldNotConfuseElementsWithEqualHashCodes() {
+        final StackTraceStrings unit = new StackTraceStrings(16);
+        // "Aa" and "BB" have the same hash code
+        final StackTraceElement first = element("Example", "Aa");
+        final StackTraceElement second = element("Example", "BB");
+
+        unit.render(first);
+
+        assertThat(second.hashCode(), is(first.hashCode()));
+        assertThat(unit.render(second), is(second.toString()));
+    }
+
+    private static StackTraceElement element(final String className, final String fileName) {
+        return new StackTraceElement(className, "run", fileName, 17);
+    }
+
+}
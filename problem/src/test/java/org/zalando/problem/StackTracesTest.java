@@ -0,0 +1,161 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+final class StackTracesTest {
+
+    @AfterEach
+    void reset() {
+        StackTraces.enable();
+        StackTraces.useThrowable();
+        StackTraces.disableCache();
+    }
+
+    @Test
+    void shouldNotBeInstantiable() {
+        assertThrows(Exception.class, StackTraces::new);
+    }
+
+    @Test
+    void shouldBeEnabledByDefault() {
+        assertThat(StackTraces.isEnabled(), is(true));
+        assertThat(Problem.builder().build().getStackTrace(), is(not(emptyArray())));
+    }
+
+    @Test
+    void shouldDisableStackTracesGlobally() {
+        StackTraces.disable();
+
+        assertThat(StackTraces.isEnabled(), is(false));
+        assertThat(Problem.builder().build().getStackTrace(), is(emptyArray()));
+        assertThat(new InsufficientFundsProblem(10, 20).getStackTrace(), is(emptyArray()));
+    }
+
+    @Test
+    void shouldPreferExplicitChoiceOverGlobalSwitch() {
+        StackTraces.disable();
+
+        final ThrowableProblem problem = new AbstractThrowableProblem(
+                null, "Bad Request", BAD_REQUEST, null, null, null, null, true) {
+        };
+
+        assertThat(problem.getStackTrace(), is(not(emptyArray())));
+    }
+
+    @Test
+    void shouldCaptureTopFramesWithStackWalker() {
+        StackTraces.useStackWalker(2);
+
+        final StackTraceElement[] stackTrace = Problem.builder().build().getStackTrace();
+
+        assertThat(stackTrace, is(arrayWithSize(2)));
+        assertThat(stackTrace[0].getClassName(), is(ProblemBuilder.class.getName()));
+        assertThat(stackTrace[1].getClassName(), is(StackTracesTest.class.getName()));
+    }
+
+    @Test
+    void shouldSkipFramesWithStackWalker() {
+        StackTraces.useStackWalker(20, ProblemBuilder.class.getName(), "java.", "jdk.");
+
+        final StackTraceElement[] stackTrace = Problem.builder().build().getStackTrace();
+
+        assertThat(stackTrace[0].getMethodName(), is("shouldSkipFramesWithStackWalker"));
+        assertThat(Arrays.stream(stackTrace).noneMatch(element ->
+                element.getClassName().startsWith("java.") || element.getClassName().startsWith("jdk.")), is(true));
+        // registered stack trace processors still apply
+        assertThat(Arrays.stream(stackTrace).noneMatch(element ->
+                element.getClassName().startsWith("org.junit")), is(true));
+    }
+
+    @Test
+    void shouldCaptureCustomProblemWithStackWalker() {
+        StackTraces.useStackWalker(1);
+
+        final StackTraceElement[] stackTrace = new InsufficientFundsProblem(10, 20).getStackTrace();
+
+        assertThat(stackTrace, is(arrayWithSize(1)));
+        assertThat(stackTrace[0], hasToString(containsString("shouldCaptureCustomProblemWithStackWalker")));
+    }
+
+    @Test
+    void shouldKeepFactoryMethodOfProblemWithStackWalker() {
+        StackTraces.useStackWalker(1);
+
+        final StackTraceElement[] stackTrace = CreditCardExpiredProblem.create().getStackTrace();
+
+        assertThat(stackTrace[0].getMethodName(), is("create"));
+    }
+
+    @Test
+    void shouldRejectNonPositiveDepth() {
+        assertThrows(IllegalArgumentException.class, () -> StackTraces.useStackWalker(0));
+    }
+
+    static final class CreditCardExpiredProblem extends ThrowableProblem {
+
+        static CreditCardExpiredProblem create() {
+            return new CreditCardExpiredProblem();
+        }
+
+    }
+
+    @Test
+    void shouldNotCacheByDefault() {
+        final ThrowableProblem[] problems = createTwiceAtSameCallSite();
+
+        assertThat(StackTraces.cache(), is(nullValue()));
+        assertThat(problems[0].getStackTrace()[0], is(not(sameInstance(problems[1].getStackTrace()[0]))));
+    }
+
+    @Test
+    void shouldShareCachedStackTraces() {
+        StackTraces.enableCache(100);
+
+        final ThrowableProblem[] problems = createTwiceAtSameCallSite();
+
+        assertThat(StackTraces.cache(), hasFeature("capacity", StackTraceCache::capacity, is(128)));
+        assertThat(problems[0].processedStackTrace(), is(sameInstance(problems[1].processedStackTrace())));
+        assertThat(problems[0].getStackTrace(), is(equalTo(problems[1].getStackTrace())));
+        assertThat(problems[0].getStackTrace(), is(not(sameInstance(problems[0].getStackTrace()))));
+        assertThat(getStackTrace(problems[0]), not(containsString("org.junit")));
+    }
+
+    @Test
+    void shouldRejectNonPositiveCacheCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> StackTraces.enableCache(0));
+    }
+
+    private static ThrowableProblem[] createTwiceAtSameCallSite() {
+        final ThrowableProblem[] problems = new ThrowableProblem[2];
+        for (int index = 0; index < problems.length; index++) {
+            problems[index] = Problem.builder().withTitle("Out of Stock").build();
+        }
+        return problems;
+    }
+
+    private static String getStackTrace(final Throwable throwable) {
+        final StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.zalando.problem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class StatusRegistryTest {
+
+    private final StatusRegistry unit = StatusRegistry.of(Status.class, CustomStatus.class);
+
+    @Test
+    void shouldFindRegisteredStatus() {
+        assertThat(unit.find(404), is(Status.NOT_FOUND));
+        assertThat(unit.resolve(404), is(Status.NOT_FOUND));
+    }
+
+    @Test
+    void shouldFindRegisteredStatusOutsideOfRange() {
+        assertThat(unit.find(42), is(CustomStatus.ANSWER));
+        assertThat(unit.find(1000), is(CustomStatus.OVERFLOW));
+        assertThat(unit.resolve(42), is(CustomStatus.ANSWER));
+    }
+
+    @Test
+    void shouldNotFindUnregisteredStatus() {
+        assertThat(unit.find(666), is(nullValue()));
+        assertThat(unit.find(-1), is(nullValue()));
+    }
+
+    @Test
+    void shouldResolveAndCacheUnknownStatus() {
+        final StatusType status = unit.resolve(666);
+
+        assertThat(status, is(instanceOf(UnknownStatus.class)));
+        assertThat(status, hasFeature("status code", StatusType::getStatusCode, equalTo(666)));
+        assertThat(status, hasFeature("reason phrase", StatusType::getReasonPhrase, equalTo("Unknown")));
+        assertThat(unit.resolve(666), is(sameInstance(status)));
+    }
+
+    @Test
+    void shouldResolveUnknownStatusOutsideOfRange() {
+        final StatusType status = unit.resolve(8080);
+
+        assertThat(status, hasFeature("status code", StatusType::getStatusCode, equalTo(8080)));
+        assertThat(unit.resolve(8080), is(not(sameInstance(status))));
+    }
+
+    @Test
+    void shouldThrowForDuplicateStatusCode() {
+        assertThrows(IllegalArgumentException.class, () -> StatusRegistry.of(Status.class, Status.class));
+    }
+
+    @Test
+    void shouldThrowForDuplicateStatusCodeOutsideOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> StatusRegistry.of(CustomStatus.class, CustomStatus.class));
+    }
+
+    enum CustomStatus implements StatusType {
+
+        ANSWER(42),
+        OVERFLOW(1000);
+
+        private final int statusCode;
+
+        CustomStatus(final int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return name();
+        }
+
+    }
+
+}
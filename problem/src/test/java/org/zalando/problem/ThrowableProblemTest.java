@@ -2,16 +2,27 @@ package org.zalando.problem;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.URI;
+import java.util.Arrays;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.zalando.problem.Status.BAD_REQUEST;
@@ -68,6 +79,45 @@ final class ThrowableProblemTest {
         assertThat(problem, hasFeature("message", Throwable::getMessage, is("Preauthorization Failed: CVC invalid")));
     }
 
+    @Test
+    void shouldReturnDetailAsMessage() {
+        final ThrowableProblem problem = Problem.builder()
+                .withDetail("CVC invalid")
+                .build();
+
+        assertThat(problem, hasFeature("message", Throwable::getMessage, is("CVC invalid")));
+    }
+
+    @Test
+    void shouldReturnEmptyMessage() {
+        final ThrowableProblem problem = Problem.builder().build();
+
+        assertThat(problem, hasFeature("message", Throwable::getMessage, is("")));
+    }
+
+    @Test
+    void shouldMemoizeMessageAndString() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .withDetail("CVC invalid")
+                .build();
+
+        assertThat(problem.getMessage(), is(sameInstance(problem.getMessage())));
+        assertThat(problem.toString(), is(sameInstance(problem.toString())));
+    }
+
+    @Test
+    void shouldForgetMemoizedStringWhenModified() {
+        final DefaultProblem problem = new DefaultProblem(null, "Preauthorization Failed", null, null, null, null);
+        assertThat(problem.getMessage(), is("Preauthorization Failed"));
+        assertThat(problem.toString(), is("about:blank{Preauthorization Failed}"));
+
+        problem.set("foo", "bar");
+
+        assertThat(problem.getMessage(), is("Preauthorization Failed"));
+        assertThat(problem.toString(), is("about:blank{Preauthorization Failed, foo=bar}"));
+    }
+
     @Test
     void shouldReturnCausesMessage() {
         final ThrowableProblem problem = Problem.builder()
@@ -125,6 +175,136 @@ final class ThrowableProblemTest {
         assertThat(stacktrace, not(containsString("org.junit")));
     }
 
+    @Test
+    void shouldProcessStackTraceOfCauseWhenPrinting() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .withCause(Problem.builder()
+                        .withTitle("Expired Credit Card")
+                        .build())
+                .build();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        problem.printStackTrace(new PrintStream(output));
+
+        assertThat(output.toString(), containsString("Caused by: about:blank{Expired Credit Card}"));
+        assertThat(output.toString(), not(containsString("org.junit")));
+    }
+
+    @Test
+    void shouldProcessStackTraceOnlyOnce() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        final StackTraceElement[] first = problem.getStackTrace();
+        final StackTraceElement[] second = problem.getStackTrace();
+
+        assertThat(Arrays.stream(first).noneMatch(element -> element.getClassName().startsWith("org.junit")), is(true));
+        assertThat(second, is(equalTo(first)));
+    }
+
+    @Test
+    void shouldNotProcessExplicitStackTrace() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        final StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        problem.setStackTrace(stackTrace);
+
+        assertThat(problem.getStackTrace(), is(equalTo(stackTrace)));
+    }
+
+    @Test
+    void shouldProcessRefilledStackTrace() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        problem.setStackTrace(new Throwable().getStackTrace());
+        problem.fillInStackTrace();
+
+        assertThat(getStackTrace(problem), not(containsString("org.junit")));
+    }
+
+    @Test
+    void shouldMemoizeFingerprint() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        final long fingerprint = problem.fingerprint();
+
+        assertThat(problem.fingerprint(), is(fingerprint));
+        assertThat(problem.getStackTrace(), not(emptyArray()));
+    }
+
+    @Test
+    void shouldRecomputeFingerprintWhenStackTraceChanges() {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        final long fingerprint = problem.fingerprint();
+        problem.setStackTrace(new StackTraceElement[0]);
+
+        assertThat(problem.fingerprint(), is(not(fingerprint)));
+
+        final long empty = problem.fingerprint();
+        problem.fillInStackTrace();
+
+        assertThat(problem.fingerprint(), is(not(empty)));
+    }
+
+    @Test
+    void shouldSerializeProcessedStackTrace() throws IOException, ClassNotFoundException {
+        final ThrowableProblem problem = Problem.builder()
+                .withTitle("Preauthorization Failed")
+                .build();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(problem);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Throwable copy = (Throwable) input.readObject();
+            assertThat(copy.getStackTrace(), is(equalTo(problem.getStackTrace())));
+        }
+    }
+
+    @Test
+    void shouldNotCaptureStackTraceWithoutStackTrace() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(URI.create("https://example.org/preauthorization-failed"))
+                .withTitle("Preauthorization Failed")
+                .withStatus(BAD_REQUEST)
+                .withoutStackTrace()
+                .build();
+
+        problem.addSuppressed(new IllegalStateException());
+        problem.setStackTrace(new Throwable().getStackTrace());
+
+        assertThat(problem.getStackTrace(), is(emptyArray()));
+        assertThat(problem.getSuppressed(), is(emptyArray()));
+    }
+
+    @Test
+    void shouldCaptureStackTraceByDefault() {
+        final ThrowableProblem problem = Problem.builder()
+                .withType(URI.create("https://example.org/preauthorization-failed"))
+                .withTitle("Preauthorization Failed")
+                .withStatus(BAD_REQUEST)
+                .build();
+
+        problem.addSuppressed(new IllegalStateException());
+
+        assertThat(problem.getStackTrace(), is(not(emptyArray())));
+        assertThat(problem.getSuppressed(), is(arrayWithSize(1)));
+    }
+
     private String getStackTrace(final Throwable throwable) {
         final StringWriter writer = new StringWriter();
         throwable.printStackTrace(new PrintWriter(writer));
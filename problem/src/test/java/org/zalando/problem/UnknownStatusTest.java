@@ -1,4 +1,4 @@
-package org.zalando.problem.gson;
+package org.zalando.problem;
 
 import org.junit.jupiter.api.Test;
 
@@ -14,4 +14,4 @@ class UnknownStatusTest {
         assertEquals("Unknown", status.getReasonPhrase());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package org.zalando.problem.spi;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+final class CompoundProblemListenerTest {
+
+    private final ThrowableProblem problem = Problem.valueOf(Status.NOT_FOUND);
+
+    @Test
+    void shouldUseDefaultWithoutListeners() {
+        final ProblemListener listener = CompoundProblemListener.of(Collections.emptyList());
+
+        assertThat(listener, is(sameInstance(ProblemListener.DEFAULT)));
+
+        listener.onConstruct(problem.getType(), problem.getStatus());
+        listener.onSerialize(problem);
+        listener.onDeserialize(problem);
+    }
+
+    @Test
+    void shouldUseSingleListener() {
+        final ProblemListener single = new Recorder(new ArrayList<>(), "single");
+
+        assertThat(CompoundProblemListener.of(Collections.singletonList(single)), is(sameInstance(single)));
+    }
+
+    @Test
+    void shouldNotifyAllListenersInOrder() {
+        final List<String> events = new ArrayList<>();
+        final ProblemListener listener = CompoundProblemListener.of(Arrays.asList(
+                new Recorder(events, "first"), new Recorder(events, "second")));
+
+        assertThat(listener, is(instanceOf(CompoundProblemListener.class)));
+
+        listener.onConstruct(problem.getType(), problem.getStatus());
+        listener.onSerialize(problem);
+        listener.onDeserialize(problem);
+
+        assertThat(events, contains(
+                "first constructed", "second constructed",
+                "first serialized", "second serialized",
+                "first deserialized", "second deserialized"));
+    }
+
+    private static final class Recorder implements ProblemListener {
+
+        private final List<String> events;
+        private final String name;
+
+        private Recorder(final List<String> events, final String name) {
+            this.events = events;
+            this.name = name;
+        }
+
+        @Override
+        public void onConstruct(final URI type, @Nullable final StatusType status) {
+            events.add(name + " constructed");
+        }
+
+        @Override
+        public void onSerialize(final Problem problem) {
+            events.add(name + " serialized");
+        }
+
+        @Override
+        public void onDeserialize(final Problem problem) {
+            events.add(name + " deserialized");
+        }
+
+    }
+
+}
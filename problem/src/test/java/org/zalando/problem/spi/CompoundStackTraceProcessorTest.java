@@ -0,0 +1,90 @@
+package org.zalando.problem.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+final class CompoundStackTraceProcessorTest {
+
+    private final StackTraceElement problem = element("org.zalando.problem.Problem");
+    private final StackTraceElement junit = element("org.junit.jupiter.Test");
+    private final StackTraceElement reflect = element("java.lang.reflect.Method");
+    private final StackTraceElement test = element("org.zalando.problem.ProblemTest");
+
+    @Test
+    void shouldUseDefaultWithoutProcessors() {
+        final StackTraceProcessor processor = CompoundStackTraceProcessor.of(Collections.emptyList());
+        final StackTraceElement[] elements = {problem, test};
+        final List<StackTraceElement> list = Arrays.asList(elements);
+
+        assertThat(processor, is(sameInstance(StackTraceProcessor.DEFAULT)));
+        assertThat(processor.process(elements), is(sameInstance(elements)));
+        assertThat(processor.process(list), is(sameInstance(list)));
+    }
+
+    @Test
+    void shouldUseSingleProcessor() {
+        final StackTraceProcessor single = new PrefixStackTraceProcessor("org.junit.");
+
+        assertThat(CompoundStackTraceProcessor.of(Collections.singletonList(single)), is(sameInstance(single)));
+    }
+
+    @Test
+    void shouldCombineAdjacentPrefixProcessors() {
+        final StackTraceProcessor processor = CompoundStackTraceProcessor.of(Arrays.asList(
+                new PrefixStackTraceProcessor("org.junit."),
+                new PrefixStackTraceProcessor("java.lang.reflect.")));
+
+        assertThat(processor, is(instanceOf(PrefixStackTraceProcessor.class)));
+        assertThat(processor.process(new StackTraceElement[]{problem, junit, reflect, test}),
+                arrayContaining(problem, test));
+    }
+
+    @Test
+    void shouldApplyProcessorsInOrder() {
+        final StackTraceProcessor processor = CompoundStackTraceProcessor.of(Arrays.asList(
+                new PrefixStackTraceProcessor("org.junit."),
+                new DropFirst(),
+                new PrefixStackTraceProcessor("java.lang.reflect.")));
+
+        assertThat(processor, is(instanceOf(CompoundStackTraceProcessor.class)));
+        assertThat(processor.process(new StackTraceElement[]{junit, problem, reflect, test}),
+                arrayContaining(test));
+        assertThat(processor.process(Arrays.asList(problem, junit, reflect, test)), contains(test));
+    }
+
+    @Test
+    void shouldNotCombineNonPrefixProcessors() {
+        final StackTraceProcessor processor = CompoundStackTraceProcessor.of(Arrays.asList(
+                new DropFirst(), new DropFirst()));
+
+        assertThat(processor.process(new StackTraceElement[]{junit, problem, test}), arrayContaining(test));
+    }
+
+    private static StackTraceElement element(final String className) {
+        return new StackTraceElement(className, "method", null, -1);
+    }
+
+    private static final class DropFirst implements StackTraceProcessor {
+
+        @Override
+        public Collection<StackTraceElement> process(final Collection<StackTraceElement> elements) {
+            final List<StackTraceElement> list = new ArrayList<>(elements);
+            list.remove(0);
+            return list;
+        }
+
+    }
+
+}
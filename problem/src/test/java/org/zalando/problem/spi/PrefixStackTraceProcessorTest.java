@@ -0,0 +1,60 @@
+package org.zalando.problem.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+final class PrefixStackTraceProcessorTest {
+
+    private final StackTraceElement problem = element("org.zalando.problem.Problem");
+    private final StackTraceElement junit = element("org.junit.jupiter.Test");
+    private final StackTraceElement reflect = element("java.lang.reflect.Method");
+    private final StackTraceElement test = element("org.zalando.problem.ProblemTest");
+
+    private final PrefixStackTraceProcessor unit = new PrefixStackTraceProcessor("org.junit.", "java.lang.reflect.");
+
+    @Test
+    void shouldDropMatchingFrames() {
+        final StackTraceElement[] elements = {problem, junit, reflect, test};
+
+        assertThat(unit.process(elements), arrayContaining(problem, test));
+    }
+
+    @Test
+    void shouldReturnSameArrayIfNothingWasDropped() {
+        final StackTraceElement[] elements = {problem, test};
+
+        assertThat(unit.process(elements), is(sameInstance(elements)));
+    }
+
+    @Test
+    void shouldDropAllFrames() {
+        assertThat(unit.process(new StackTraceElement[]{junit, reflect}), is(emptyArray()));
+    }
+
+    @Test
+    void shouldProcessCollections() {
+        assertThat(unit.process(Arrays.asList(problem, junit, test)), contains(problem, test));
+    }
+
+    @Test
+    void shouldCombinePrefixes() {
+        final PrefixStackTraceProcessor combined = new PrefixStackTraceProcessor("org.junit.")
+                .combine(new PrefixStackTraceProcessor("java.lang.reflect."));
+
+        assertThat(combined.process(new StackTraceElement[]{problem, junit, reflect, test}),
+                arrayContaining(problem, test));
+    }
+
+    private static StackTraceElement element(final String className) {
+        return new StackTraceElement(className, "method", null, -1);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.zalando.problem.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class PrefixTrieTest {
+
+    private final PrefixTrie unit = PrefixTrie.of(Arrays.asList("org.junit.", "org.jun", "java.lang.reflect.", "sun."));
+
+    @Test
+    void shouldMatchPrefixes() {
+        assertThat(unit.matches("org.junit.jupiter.Test"), is(true));
+        assertThat(unit.matches("org.jungle.Tree"), is(true));
+        assertThat(unit.matches("java.lang.reflect.Method"), is(true));
+        assertThat(unit.matches("sun."), is(true));
+    }
+
+    @Test
+    void shouldNotMatchOtherStrings() {
+        assertThat(unit.matches("org.zalando.problem.Problem"), is(false));
+        assertThat(unit.matches("java.lang.String"), is(false));
+        assertThat(unit.matches("org.ju"), is(false));
+        assertThat(unit.matches("sun"), is(false));
+        assertThat(unit.matches(""), is(false));
+    }
+
+    @Test
+    void shouldMatchNothingWithoutPrefixes() {
+        assertThat(PrefixTrie.of(Collections.emptyList()).matches("org.junit.Test"), is(false));
+    }
+
+    @Test
+    void shouldMatchEverythingWithEmptyPrefix() {
+        final PrefixTrie trie = PrefixTrie.of(Arrays.asList("org.junit.", ""));
+
+        assertThat(trie.matches(""), is(true));
+        assertThat(trie.matches("org.zalando.problem.Problem"), is(true));
+    }
+
+    @Test
+    void shouldMatchPrefixesThatBranchOff() {
+        final PrefixTrie trie = PrefixTrie.of(Arrays.asList("org.springframework.", "org.apache.", "org.aspectj."));
+
+        assertThat(trie.matches("org.springframework.web.DispatcherServlet"), is(true));
+        assertThat(trie.matches("org.apache.catalina.Valve"), is(true));
+        assertThat(trie.matches("org.aspectj.Aspect"), is(true));
+        assertThat(trie.matches("org.asm.ClassReader"), is(false));
+        assertThat(trie.matches("org.spring.Bean"), is(false));
+    }
+
+}
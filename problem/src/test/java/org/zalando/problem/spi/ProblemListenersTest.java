@@ -0,0 +1,128 @@
+package org.zalando.problem.spi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class ProblemListenersTest {
+
+    @AfterEach
+    void reset() {
+        ProblemListeners.initialize();
+    }
+
+    @Test
+    void shouldDiscoverListeners() {
+        ProblemListeners.initialize();
+
+        // none are registered
+        assertThat(ProblemListeners.current(), is(sameInstance(ProblemListener.DEFAULT)));
+    }
+
+    @Test
+    void shouldDiscoverOnlyOnce() {
+        ProblemListeners.initialize();
+        final ProblemListener discovered = ProblemListeners.current();
+
+        ProblemListeners.initialize();
+
+        assertThat(ProblemListeners.current(), is(sameInstance(discovered)));
+    }
+
+    @Test
+    void shouldUseConfiguredListeners() {
+        final ProblemListener listener = new ProblemListener() {
+        };
+
+        ProblemListeners.initialize(listener);
+
+        assertThat(ProblemListeners.current(), is(sameInstance(listener)));
+    }
+
+    @Test
+    void shouldUseNoListeners() {
+        ProblemListeners.initialize(new ProblemListener[0]);
+
+        assertThat(ProblemListeners.current(), is(sameInstance(ProblemListener.DEFAULT)));
+    }
+
+    @Test
+    void shouldDelegateToCurrentListeners() {
+        final List<String> events = new ArrayList<>();
+        final ThrowableProblem problem = Problem.builder().withTitle("Delegated").build();
+
+        ProblemListeners.initialize(new ProblemListener() {
+            @Override
+            public void onConstruct(final URI type, @Nullable final StatusType status) {
+                events.add("construct " + type);
+            }
+
+            @Override
+            public void onSerialize(final Problem problem) {
+                events.add("serialize " + problem.getTitle());
+            }
+
+            @Override
+            public void onDeserialize(final Problem problem) {
+                events.add("deserialize " + problem.getTitle());
+            }
+        });
+
+        ProblemListener.COMPOUND.onConstruct(problem.getType(), problem.getStatus());
+        ProblemListener.COMPOUND.onSerialize(problem);
+        ProblemListener.COMPOUND.onDeserialize(problem);
+
+        assertThat(events, contains("construct about:blank", "serialize Delegated", "deserialize Delegated"));
+    }
+
+    @Test
+    void shouldNotifyOnceConstructed() {
+        final List<String> events = new ArrayList<>();
+        ProblemListeners.initialize(recorder(events));
+
+        Problem.builder().withType(URI.create("https://example.org/built")).withStatus(Status.CONFLICT).build();
+
+        assertThat(events, contains("https://example.org/built 409"));
+    }
+
+    @Test
+    void shouldNotifyWheneverSharedProblemIsHandedOut() {
+        final List<String> events = new ArrayList<>();
+        ProblemListeners.initialize(recorder(events));
+
+        final ThrowableProblem first = Problem.valueOf(Status.GONE);
+        final ThrowableProblem second = Problem.valueOf(Status.GONE);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(events, contains("about:blank 410", "about:blank 410"));
+    }
+
+    @Test
+    void shouldNotBeInstantiable() {
+        assertThrows(Exception.class, ProblemListeners::new);
+    }
+
+    private static ProblemListener recorder(final List<String> events) {
+        return new ProblemListener() {
+            @Override
+            public void onConstruct(final URI type, @Nullable final StatusType status) {
+                events.add(type + " " + (status == null ? null : status.getStatusCode()));
+            }
+        };
+    }
+
+}
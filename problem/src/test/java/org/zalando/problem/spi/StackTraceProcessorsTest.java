@@ -0,0 +1,87 @@
+package org.zalando.problem.spi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class StackTraceProcessorsTest {
+
+    private final StackTraceElement junit = element("org.junit.jupiter.Test");
+    private final StackTraceElement test = element("org.zalando.problem.ProblemTest");
+
+    @AfterEach
+    void reset() {
+        StackTraceProcessors.initialize();
+    }
+
+    @Test
+    void shouldDiscoverProcessors() {
+        StackTraceProcessors.initialize();
+
+        // see src/test/resources/META-INF/services
+        assertThat(StackTraceProcessors.current(), is(instanceOf(PrefixStackTraceProcessor.class)));
+        assertThat(StackTraceProcessors.current().process(new StackTraceElement[]{junit, test}), arrayContaining(test));
+    }
+
+    @Test
+    void shouldDiscoverOnlyOnce() {
+        StackTraceProcessors.initialize();
+        final StackTraceProcessor discovered = StackTraceProcessors.current();
+
+        StackTraceProcessors.initialize();
+
+        assertThat(StackTraceProcessors.current(), is(sameInstance(discovered)));
+    }
+
+    @Test
+    void shouldUseConfiguredProcessors() {
+        final StackTraceProcessor processor = new PrefixStackTraceProcessor("org.zalando.");
+
+        StackTraceProcessors.initialize(processor);
+
+        assertThat(StackTraceProcessors.current(), is(sameInstance(processor)));
+    }
+
+    @Test
+    void shouldUseNoProcessors() {
+        StackTraceProcessors.initialize(new StackTraceProcessor[0]);
+
+        assertThat(StackTraceProcessors.current(), is(sameInstance(StackTraceProcessor.DEFAULT)));
+    }
+
+    @Test
+    void shouldDelegateToCurrentProcessors() {
+        final StackTraceElement[] elements = {junit, test};
+        final List<StackTraceElement> list = Arrays.asList(junit, test);
+
+        StackTraceProcessors.initialize(new PrefixStackTraceProcessor("org.zalando."));
+
+        assertThat(StackTraceProcessor.COMPOUND.process(elements.clone()), arrayContaining(junit));
+        assertThat(StackTraceProcessor.COMPOUND.process(list), contains(junit));
+
+        StackTraceProcessors.initialize();
+
+        assertThat(StackTraceProcessor.COMPOUND.process(elements.clone()), arrayContaining(test));
+        assertThat(StackTraceProcessor.COMPOUND.process(list), contains(test));
+    }
+
+    @Test
+    void shouldNotBeInstantiable() {
+        assertThrows(Exception.class, StackTraceProcessors::new);
+    }
+
+    private static StackTraceElement element(final String className) {
+        return new StackTraceElement(className, "method", null, -1);
+    }
+
+}